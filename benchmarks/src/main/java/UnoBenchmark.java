@@ -0,0 +1,332 @@
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Benchmark suite for the UnoModel hot paths.
+ * <p>
+ * Each benchmark is a hand-written measurement loop (like the loops JMH generates)
+ * run for several warm-up and measurement iterations on the current thread.
+ * For every benchmark it reports throughput (ops/s), time per operation,
+ * allocation per operation and allocation rate (from the thread's allocated-byte
+ * counter, the same source JMH's gc profiler uses), and the GC count.
+ * </p>
+ * <p>
+ * Usage: {@code UnoBenchmark [-wi n] [-i n] [-t ms] [-f regex] [-save file] [-baseline file]}
+ * <br>
+ * {@code -save} writes the scores to a CSV file; {@code -baseline} prints the
+ * change in ops/s and B/op against a previously saved file.
+ * </p>
+ */
+public class UnoBenchmark {
+    /** Result sink so the JIT cannot remove benchmark work. */
+    private static long sink;
+
+    /** Warm-up iterations per benchmark. */
+    private int warmupIterations = 5;
+
+    /** Measurement iterations per benchmark. */
+    private int iterations = 5;
+
+    /** Target length of one iteration in milliseconds. */
+    private long iterationMillis = 1000;
+
+    /**
+     * A single benchmark: {@link #run(long)} performs the operation the given
+     * number of times in its own loop and returns a value derived from the results.
+     */
+    private abstract static class Benchmark {
+        final String name;
+
+        Benchmark(String name) {
+            this.name = name;
+        }
+
+        abstract long run(long ops);
+    }
+
+    /**
+     * Scores of one benchmark.
+     * @param name benchmark name
+     * @param opsPerSecond mean throughput
+     * @param error half-width of the min/max range of the iterations, in ops/s
+     * @param bytesPerOp bytes allocated per operation
+     * @param mbPerSecond allocation rate
+     * @param gcCount collections during measurement
+     */
+    private record Score(String name, double opsPerSecond, double error, double bytesPerOp, double mbPerSecond, long gcCount) {
+    }
+
+    /** @return two-player model with a dealt round and the given seed */
+    private static UnoModel dealtModel(long seed) {
+        UnoModel model = new UnoModel(seed);
+        model.addPlayer("Player1");
+        model.addPlayer("Player2");
+        model.newRound();
+        return model;
+    }
+
+    /** @return all model benchmarks */
+    private static List<Benchmark> benchmarks() {
+        List<Benchmark> list = new ArrayList<>();
+
+        list.add(new Benchmark("getRandomCard") {
+            final UnoModel model = dealtModel(1);
+            long run(long ops) {
+                long h = 0;
+                for (long i = 0; i < ops; i++) {
+                    h += model.getRandomCard().getValue().ordinal();
+                }
+                return h;
+            }
+        });
+
+        list.add(new Benchmark("isPlayable") {
+            final UnoModel model = dealtModel(2);
+            final UnoModel.Card[] cards = new UnoModel.Card[64];
+            {
+                for (int i = 0; i < cards.length; i++) {
+                    cards[i] = model.getRandomCard();
+                }
+            }
+            long run(long ops) {
+                long h = 0;
+                for (long i = 0; i < ops; i++) {
+                    if (model.isPlayable(cards[(int) i & 63])) {
+                        h++;
+                    }
+                }
+                return h;
+            }
+        });
+
+        list.add(new Benchmark("playableMask") {
+            final UnoModel model = dealtModel(2);
+            long run(long ops) {
+                long h = 0;
+                for (long i = 0; i < ops; i++) {
+                    h += model.getPlayableMask();
+                }
+                return h;
+            }
+        });
+
+        list.add(new Benchmark("playCard") {
+            final UnoModel model = dealtModel(3);
+            long run(long ops) {
+                UnoModel.Player player = model.getCurrPlayer();
+                UnoModel.Card card = player.getPersonalDeck().get(player.getHandSize() / 2);
+                long h = 0;
+                for (long i = 0; i < ops; i++) {
+                    model.playCard(card);
+                    player.addCard(card);
+                    h += player.getHandSize();
+                }
+                return h;
+            }
+        });
+
+        list.add(new Benchmark("getScore") {
+            final UnoModel model = dealtModel(4);
+            long run(long ops) {
+                UnoModel.Player winner = model.getCurrPlayer();
+                long h = 0;
+                for (long i = 0; i < ops; i++) {
+                    h += model.getScore(winner);
+                }
+                return h;
+            }
+        });
+
+        list.add(new Benchmark("newRound") {
+            final UnoModel model = dealtModel(5);
+            long run(long ops) {
+                long h = 0;
+                for (long i = 0; i < ops; i++) {
+                    model.newRound();
+                    h += model.getTopCard().getValue().ordinal();
+                }
+                return h;
+            }
+        });
+
+        list.add(new Benchmark("advance") {
+            final UnoModel model = dealtModel(6);
+            long run(long ops) {
+                long h = 0;
+                for (long i = 0; i < ops; i++) {
+                    model.advance();
+                    h += model.getCurrPlayerIndex();
+                }
+                return h;
+            }
+        });
+
+        list.add(new Benchmark("skip") {
+            final UnoModel model = dealtModel(7);
+            long run(long ops) {
+                long h = 0;
+                for (long i = 0; i < ops; i++) {
+                    model.skip();
+                    h += model.getCurrPlayerIndex();
+                }
+                return h;
+            }
+        });
+
+        list.add(new Benchmark("simulatedGame") {
+            final UnoSimulator simulator = UnoSimulator.automatic(4);
+            long seed = 8;
+            long run(long ops) {
+                long h = 0;
+                for (long i = 0; i < ops; i++) {
+                    h += simulator.playGame(seed++).turns();
+                }
+                return h;
+            }
+        });
+
+        return list;
+    }
+
+    /**
+     * Runs one benchmark: calibrates a batch size, warms up, then measures.
+     * @param benchmark benchmark to run
+     * @return its scores
+     */
+    private Score measure(Benchmark benchmark) {
+        long batch = 1;
+        long target = iterationMillis * 1_000_000L / 20;
+        while (true) {
+            long start = System.nanoTime();
+            sink += benchmark.run(batch);
+            if (System.nanoTime() - start >= target || batch >= (1L << 40)) {
+                break;
+            }
+            batch *= 2;
+        }
+
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(benchmark, batch);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long gcBefore = gcCount();
+        double[] throughput = new double[iterations];
+        long totalOps = 0;
+        long totalNanos = 0;
+        long totalBytes = 0;
+        for (int i = 0; i < iterations; i++) {
+            long bytesBefore = threads.getCurrentThreadAllocatedBytes();
+            long[] opsAndNanos = iteration(benchmark, batch);
+            totalBytes += threads.getCurrentThreadAllocatedBytes() - bytesBefore;
+            totalOps += opsAndNanos[0];
+            totalNanos += opsAndNanos[1];
+            throughput[i] = opsAndNanos[0] * 1e9 / opsAndNanos[1];
+        }
+        long gcs = gcCount() - gcBefore;
+
+        double mean = totalOps * 1e9 / totalNanos;
+        double min = Arrays.stream(throughput).min().orElse(mean);
+        double max = Arrays.stream(throughput).max().orElse(mean);
+        double bytesPerOp = (double) totalBytes / totalOps;
+        double mbPerSecond = totalBytes / 1048576.0 / (totalNanos / 1e9);
+        return new Score(benchmark.name, mean, (max - min) / 2, bytesPerOp, mbPerSecond, gcs);
+    }
+
+    /**
+     * Runs batches until the iteration time has elapsed.
+     * @return operations performed and nanoseconds taken
+     */
+    private long[] iteration(Benchmark benchmark, long batch) {
+        long end = iterationMillis * 1_000_000L;
+        long ops = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            sink += benchmark.run(batch);
+            ops += batch;
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < end);
+        return new long[] {ops, elapsed};
+    }
+
+    /** @return total collections so far across all collectors */
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    /** Reads a CSV written by {@link #save(Path, List)}: name to {ops/s, B/op}. */
+    private static Map<String, double[]> load(Path file) throws IOException {
+        Map<String, double[]> scores = new HashMap<>();
+        for (String line : Files.readAllLines(file)) {
+            String[] parts = line.split(",");
+            if (parts.length == 3 && !parts[0].equals("benchmark")) {
+                scores.put(parts[0], new double[] {Double.parseDouble(parts[1]), Double.parseDouble(parts[2])});
+            }
+        }
+        return scores;
+    }
+
+    /** Writes scores as CSV: benchmark, ops/s, B/op. */
+    private static void save(Path file, List<Score> scores) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("benchmark,ops_per_s,bytes_per_op");
+        for (Score score : scores) {
+            lines.add(score.name() + "," + score.opsPerSecond() + "," + score.bytesPerOp());
+        }
+        Files.write(file, lines);
+    }
+
+    /**
+     * Runs the benchmarks selected on the command line and prints a report.
+     */
+    public static void main(String[] args) throws IOException {
+        UnoBenchmark runner = new UnoBenchmark();
+        Pattern filter = Pattern.compile(".*");
+        Path savePath = null;
+        Path baselinePath = null;
+        for (int i = 0; i < args.length - 1; i += 2) {
+            switch (args[i]) {
+                case "-wi" -> runner.warmupIterations = Integer.parseInt(args[i + 1]);
+                case "-i" -> runner.iterations = Integer.parseInt(args[i + 1]);
+                case "-t" -> runner.iterationMillis = Long.parseLong(args[i + 1]);
+                case "-f" -> filter = Pattern.compile(args[i + 1]);
+                case "-save" -> savePath = Path.of(args[i + 1]);
+                case "-baseline" -> baselinePath = Path.of(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+        }
+        Map<String, double[]> baseline = baselinePath == null ? Map.of() : load(baselinePath);
+
+        List<Score> scores = new ArrayList<>();
+        for (Benchmark benchmark : benchmarks()) {
+            if (filter.matcher(benchmark.name).find()) {
+                scores.add(runner.measure(benchmark));
+            }
+        }
+
+        System.out.printf("%-16s %16s %12s %12s %10s %10s %6s%n", "Benchmark", "ops/s", "error", "ns/op", "B/op", "MB/s", "gc");
+        for (Score s : scores) {
+            System.out.printf("%-16s %16.1f %12.1f %12.2f %10.1f %10.1f %6d", s.name(), s.opsPerSecond(), s.error(),
+                    1e9 / s.opsPerSecond(), s.bytesPerOp(), s.mbPerSecond(), s.gcCount());
+            double[] base = baseline.get(s.name());
+            if (base != null) {
+                System.out.printf("   ops/s %+.1f%%, B/op %.1f -> %.1f", 100 * (s.opsPerSecond() / base[0] - 1), base[1], s.bytesPerOp());
+            }
+            System.out.println();
+        }
+        if (savePath != null) {
+            save(savePath, scores);
+        }
+        System.out.println("(sink " + (sink & 1) + ")");
+    }
+}
@@ -0,0 +1,178 @@
+import java.util.SplittableRandom;
+
+/**
+ * Built-in computer players.
+ * <p>
+ * Every bot is an {@link UnoStrategy}, so the same instance can play in
+ * {@link UnoSimulator} games or take a seat in the Swing game
+ * ({@link UnoController#setBot(int, UnoStrategy)}). Bots decide from the
+ * model's playable-slot mask ({@link UnoModel#getPlayableMask()}) and the
+ * current player's per-slot card counts, and return pooled cards, so a
+ * decision does not allocate. Like other strategies, a bot keeps scratch
+ * state and must not be shared between threads.
+ * </p>
+ */
+public final class UnoBots {
+    private static final UnoModel.Colours[] COLOURS = UnoModel.Colours.values();
+
+    /** Coloured hand slots are laid out as colour * VALUES_PER_COLOUR + value. */
+    private static final int VALUES_PER_COLOUR = 13;
+
+    /** Hand slots below this hold coloured cards; the rest hold the two wilds. */
+    private static final int COLOURED_SLOTS = COLOURS.length * VALUES_PER_COLOUR;
+
+    private UnoBots() {
+    }
+
+    /**
+     * Creates a bot by name: {@code random}, {@code greedy}, {@code hoard},
+     * {@code auto} (the simulator's {@link UnoSimulator.AutoPlayer}) or
+     * {@code mcts} ({@link UnoMcts} on all cores, 20000 playouts or one second
+     * per move; unlike the others it allocates its search trees and owns worker
+     * threads, so release it with {@link #close(UnoStrategy)} when done).
+     * @param name bot name (case-insensitive)
+     * @param seed seed for bots that make random choices
+     * @return a new bot
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static UnoStrategy byName(String name, long seed) {
+        return switch (name.trim().toLowerCase()) {
+            case "random" -> new RandomLegal(seed);
+            case "greedy" -> new GreedyPoints();
+            case "hoard" -> new ColourHoarding();
+            case "auto" -> new UnoSimulator.AutoPlayer();
+            case "mcts" -> new UnoMcts(Runtime.getRuntime().availableProcessors(), 20_000, 1_000, seed);
+            default -> throw new IllegalArgumentException("Unknown bot: " + name);
+        };
+    }
+
+    /**
+     * Releases what a bot holds (e.g. the worker threads of {@link UnoMcts});
+     * bots without resources are left alone.
+     * @param bot the bot, or null
+     */
+    public static void close(UnoStrategy bot) {
+        if (bot instanceof UnoMcts mcts) {
+            mcts.close();
+        }
+    }
+
+    /**
+     * Counts the player's coloured cards per colour.
+     * @param player the player
+     * @param counts receives the count of each colour, indexed by ordinal
+     * @return ordinal of the colour held most (the lowest on ties)
+     */
+    private static int countColours(UnoModel.Player player, int[] counts) {
+        int best = 0;
+        for (int colour = 0; colour < COLOURS.length; colour++) {
+            int count = 0;
+            for (int slot = colour * VALUES_PER_COLOUR; slot < (colour + 1) * VALUES_PER_COLOUR; slot++) {
+                count += player.getCount(slot);
+            }
+            counts[colour] = count;
+            if (count > counts[best]) {
+                best = colour;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Plays a uniformly random legal card (drawing only when nothing is
+     * playable) and names a random colour for wilds.
+     */
+    public static class RandomLegal implements UnoStrategy {
+        private final SplittableRandom random;
+
+        /** @param seed seed of the bot's own random stream (the model's is left alone) */
+        public RandomLegal(long seed) {
+            random = new SplittableRandom(seed);
+        }
+
+        @Override
+        public UnoModel.Card chooseCard(UnoModel model) {
+            long playable = model.getPlayableMask();
+            if (playable == 0) {
+                return null;
+            }
+            for (int skip = random.nextInt(Long.bitCount(playable)); skip > 0; skip--) {
+                playable &= playable - 1;                          // Drop the lowest playable slot
+            }
+            return UnoModel.Card.ofIndex(Long.numberOfTrailingZeros(playable));
+        }
+
+        @Override
+        public UnoModel.Colours chooseColour(UnoModel model) {
+            return COLOURS[random.nextInt(COLOURS.length)];
+        }
+    }
+
+    /**
+     * Sheds points as fast as possible: plays the legal card worth the most
+     * points (wilds first) and names the colour it holds most of.
+     */
+    public static class GreedyPoints implements UnoStrategy {
+        private final int[] colourCounts = new int[COLOURS.length];
+
+        @Override
+        public UnoModel.Card chooseCard(UnoModel model) {
+            long playable = model.getPlayableMask();
+            UnoModel.Card best = null;
+            while (playable != 0) {
+                UnoModel.Card card = UnoModel.Card.ofIndex(Long.numberOfTrailingZeros(playable));
+                if (best == null || card.getPoints() > best.getPoints()) {
+                    best = card;
+                }
+                playable &= playable - 1;
+            }
+            return best;
+        }
+
+        @Override
+        public UnoModel.Colours chooseColour(UnoModel model) {
+            return COLOURS[countColours(model.getCurrPlayer(), colourCounts)];
+        }
+    }
+
+    /**
+     * Hoards the colour it holds most of: plays cards of its other colours
+     * first (the scarcest colour first), then the hoarded colour, and keeps
+     * wilds for last; a wild always switches to the hoarded colour.
+     */
+    public static class ColourHoarding implements UnoStrategy {
+        private final int[] colourCounts = new int[COLOURS.length];
+
+        @Override
+        public UnoModel.Card chooseCard(UnoModel model) {
+            long playable = model.getPlayableMask();
+            if (playable == 0) {
+                return null;
+            }
+            int hoarded = countColours(model.getCurrPlayer(), colourCounts);
+            int bestSlot = -1;
+            int bestRank = Integer.MAX_VALUE;
+            while (playable != 0) {
+                int slot = Long.numberOfTrailingZeros(playable);
+                int rank;
+                if (slot >= COLOURED_SLOTS) {
+                    rank = Integer.MAX_VALUE - 1;                  // Wilds last
+                } else {
+                    int colour = slot / VALUES_PER_COLOUR;
+                    rank = colour == hoarded ? Integer.MAX_VALUE - 2 : colourCounts[colour];
+                }
+                if (rank < bestRank) {
+                    bestSlot = slot;
+                    bestRank = rank;
+                }
+                playable &= playable - 1;
+            }
+            return UnoModel.Card.ofIndex(bestSlot);
+        }
+
+        @Override
+        public UnoModel.Colours chooseColour(UnoModel model) {
+            return COLOURS[countColours(model.getCurrPlayer(), colourCounts)];
+        }
+    }
+}
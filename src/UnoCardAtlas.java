@@ -0,0 +1,242 @@
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Sprite atlas holding all 54 card faces in a single image.
+ * <p>
+ * The atlas file ({@link #DEFAULT_PATH}) is produced by the build step in
+ * {@link #main(String[])}, which packs the individual PNGs from {@code images/}
+ * into one grid. File layout (big-endian):
+ * </p>
+ * <pre>
+ *   int magic 'UNOA', int version, int count, long CRC-32 of the source PNGs,
+ *   count x (int handSlot, int x, int y, int width, int height),
+ *   PNG bytes of the packed image up to end of file
+ * </pre>
+ * At runtime the file is memory-mapped through one {@link FileChannel}, the index
+ * is read from the mapped buffer and the image is decoded once; card faces are
+ * then served as sub-images sharing the atlas raster. Faces are packed at the
+ * hand's card size or a little above; larger images (e.g. the top card of a big
+ * window) are scaled from the source files instead, see {@link #covers(int, int)}.
+ * <p>
+ * The committed atlas is a generated file: after changing any card image,
+ * regenerate it from the project root with
+ * {@code java -Djava.awt.headless=true UnoCardAtlas}, and check it with
+ * {@code java UnoCardAtlas --check} (which exits with status 1 when the atlas
+ * no longer matches the source images).
+ * </p>
+ */
+public class UnoCardAtlas {
+    /** Location of the packed atlas, relative to the working directory. */
+    public static final Path DEFAULT_PATH = Path.of("images", "cards.atlas");
+
+    /** File magic: "UNOA". */
+    private static final int MAGIC = 0x554E4F41;
+
+    /** Current file format version. */
+    private static final int VERSION = 2;
+
+    /** Bytes before the index: magic, version, count and source checksum. */
+    private static final int HEADER_SIZE = 20;
+
+    /**
+     * Packed cell size: a quarter of the 856x1280 source card images, enough
+     * for the {@link UnoImageCache#CARD_WIDTH} x {@link UnoImageCache#CARD_HEIGHT}
+     * hand cards and a top card in the default window.
+     */
+    private static final int CELL_WIDTH = 214;
+    private static final int CELL_HEIGHT = 320;
+
+    /** Cards per atlas row. */
+    private static final int COLUMNS = 9;
+
+    /** Card faces indexed by hand slot. */
+    private final BufferedImage[] faces = new BufferedImage[UnoModel.Card.HAND_SLOTS];
+
+    /** Checksum of the source images the atlas was packed from. */
+    private long sourceChecksum;
+
+    private UnoCardAtlas() {
+    }
+
+    /**
+     * @param width target width
+     * @param height target height
+     * @return true if faces scaled to that size lose no detail by coming from the atlas
+     */
+    public boolean covers(int width, int height) {
+        return width <= faces[0].getWidth() && height <= faces[0].getHeight();
+    }
+
+    /**
+     * @param card any card; recoloured wilds share the face of their colourless wild
+     * @return the full-resolution face of that card in the atlas
+     */
+    public BufferedImage face(UnoModel.Card card) {
+        return faces[card.getHandSlot()];
+    }
+
+    /**
+     * Loads an atlas with a single memory-mapped read and a single image decode.
+     * @param path atlas file
+     * @return the loaded atlas
+     * @throws IOException if the file cannot be read or is not a valid atlas, including
+     *                     an index entry whose slot or rectangle does not fit the image
+     */
+    public static UnoCardAtlas load(Path path) throws IOException {
+        byte[] png;
+        int[][] entries;
+        long checksum;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a card atlas: " + path);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported card atlas version " + version + ": " + path);
+            }
+            int count = buffer.getInt();
+            checksum = buffer.getLong();
+            if (count < 0 || count > UnoModel.Card.HAND_SLOTS || buffer.remaining() < count * 20) {
+                throw new IOException("Corrupt card atlas index: " + path);
+            }
+            entries = new int[count][5];
+            for (int[] entry : entries) {
+                for (int i = 0; i < entry.length; i++) {
+                    entry[i] = buffer.getInt();
+                }
+            }
+            png = new byte[buffer.remaining()];
+            buffer.get(png);
+        }
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Card atlas image cannot be decoded: " + path);
+        }
+        UnoCardAtlas atlas = new UnoCardAtlas();
+        atlas.sourceChecksum = checksum;
+        for (int[] entry : entries) {
+            int slot = entry[0], x = entry[1], y = entry[2], width = entry[3], height = entry[4];
+            if (slot < 0 || slot >= UnoModel.Card.HAND_SLOTS || x < 0 || y < 0 || width <= 0 || height <= 0
+                    || width > image.getWidth() - x || height > image.getHeight() - y) {
+                throw new IOException("Corrupt card atlas entry (slot " + slot + " at " + x + "," + y
+                        + " size " + width + "x" + height + "): " + path);
+            }
+            atlas.faces[slot] = image.getSubimage(x, y, width, height);
+        }
+        for (int slot = 0; slot < atlas.faces.length; slot++) {
+            if (atlas.faces[slot] == null) {
+                throw new IOException("Card atlas has no face for " + UnoModel.Card.ofIndex(slot).getFileName());
+            }
+        }
+        return atlas;
+    }
+
+    /**
+     * Loads the atlas at {@link #DEFAULT_PATH} if it exists and is valid.
+     * @return the atlas, or null to fall back to the individual image files
+     */
+    public static UnoCardAtlas loadDefault() {
+        if (!Files.isReadable(DEFAULT_PATH)) {
+            return null;
+        }
+        try {
+            return load(DEFAULT_PATH);
+        } catch (IOException e) {
+            System.err.println("Ignoring card atlas: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return CRC-32 of the contents of every source card image, in hand-slot order
+     * @throws IOException if an image cannot be read
+     */
+    public static long sourceChecksum() throws IOException {
+        CRC32 crc = new CRC32();
+        for (int slot = 0; slot < UnoModel.Card.HAND_SLOTS; slot++) {
+            crc.update(Files.readAllBytes(Path.of(UnoModel.Card.ofIndex(slot).getFileName())));
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * @param path atlas file
+     * @return true if the atlas can be loaded and was packed from the current source images
+     * @throws IOException if a source image cannot be read
+     */
+    public static boolean isCurrent(Path path) throws IOException {
+        long expected = sourceChecksum();
+        try {
+            return load(path).sourceChecksum == expected;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Packs the individual card images into an atlas file.
+     * @param out atlas file to write
+     * @throws IOException if an image cannot be read or the file cannot be written
+     */
+    public static void pack(Path out) throws IOException {
+        int count = UnoModel.Card.HAND_SLOTS;
+        int rows = (count + COLUMNS - 1) / COLUMNS;
+        BufferedImage atlas = new BufferedImage(COLUMNS * CELL_WIDTH, rows * CELL_HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = atlas.createGraphics();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE + count * 20);
+        header.putInt(MAGIC).putInt(VERSION).putInt(count).putLong(sourceChecksum());
+
+        for (int slot = 0; slot < count; slot++) {
+            String file = UnoModel.Card.ofIndex(slot).getFileName();
+            BufferedImage image = ImageIO.read(Path.of(file).toFile());
+            if (image == null) {
+                throw new IOException("Cannot read card image " + file);
+            }
+            int x = (slot % COLUMNS) * CELL_WIDTH;
+            int y = (slot / COLUMNS) * CELL_HEIGHT;
+            g.drawImage(UnoImageCache.scale(image, CELL_WIDTH, CELL_HEIGHT), x, y, null);
+            header.putInt(slot).putInt(x).putInt(y).putInt(CELL_WIDTH).putInt(CELL_HEIGHT);
+        }
+        g.dispose();
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(atlas, "png", png);
+        try (FileChannel channel = FileChannel.open(out, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            header.flip();
+            channel.write(new ByteBuffer[] {header, ByteBuffer.wrap(png.toByteArray())});
+        }
+    }
+
+    /**
+     * Build step: packs {@code images/*.png} into the atlas, or with {@code --check}
+     * verifies that the atlas matches them (exit status 1 if not).
+     * Run from the project root: {@code java -Djava.awt.headless=true UnoCardAtlas [--check] [atlas]}
+     */
+    public static void main(String[] args) throws IOException {
+        boolean check = args.length > 0 && args[0].equals("--check");
+        int first = check ? 1 : 0;
+        Path out = args.length > first ? Path.of(args[first]) : DEFAULT_PATH;
+        if (check) {
+            boolean current = isCurrent(out);
+            System.out.println(out + (current ? " is up to date" : " is stale; regenerate it with: java UnoCardAtlas"));
+            System.exit(current ? 0 : 1);
+        }
+        pack(out);
+        System.out.println("Packed " + UnoModel.Card.HAND_SLOTS + " card faces into " + out + " (" + Files.size(out) + " bytes)");
+    }
+}
@@ -1,17 +1,78 @@
+import javax.swing.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 /**
  * The UnoController connects the UnoModel, UnoView, and UnoFrame.
  * It handles all user interactions (button presses and card selections)
  * and updates both the model and the view accordingly.
+ * <p>
+ * By default all game logic runs on the Swing EDT. In game-thread mode the
+ * model is driven from a dedicated game thread instead: the EDT only
+ * hands actions over, view updates are published back through an
+ * {@link UnoEdtPublisher}, and dialogs are shown on the EDT while the game
+ * thread waits for the answer.
+ * </p>
+ * Seats can be taken by bots ({@link #setBot(int, UnoStrategy)}): whenever the
+ * turn passes to a bot, the controller plays its turn with the same rules as a
+ * human turn and moves on, until a human is to play. Bot turns are played one
+ * at a time, each bot thinking off the EDT (on a Swing worker, or on the game
+ * thread without the model lock), and user actions are ignored meanwhile.
+ * The controller owns its bots and closes those that hold resources (e.g.
+ * {@link UnoMcts} worker threads) when they are replaced or the game ends.
  */
 
 public class UnoController implements ActionListener {
+    /** User actions the controller handles, with the action commands that select them. */
+    public enum Command {
+        NEXT_PLAYER("Next Player"),
+        DRAW_CARD("Draw Card"),
+        /** Play the card selected by the event's source component (see {@link UnoFrame#cardOf(Object)}). */
+        PLAY_CARD("Play Card");
+
+        private final String actionCommand;
+
+        Command(String actionCommand) {
+            this.actionCommand = actionCommand;
+        }
+
+        /** @return the action command string sent by components for this action */
+        public String getActionCommand() {
+            return actionCommand;
+        }
+
+        /**
+         * Maps an action command to its command without allocating.
+         * @param actionCommand the event's action command
+         * @return the command, or null if the action command is unknown
+         */
+        public static Command of(String actionCommand) {
+            if (actionCommand == null) {
+                return null;
+            }
+            return switch (actionCommand) {
+                case "Next Player" -> NEXT_PLAYER;
+                case "Draw Card" -> DRAW_CARD;
+                case "Play Card" -> PLAY_CARD;
+                default -> null;
+            };
+        }
+    }
+
     /** The game model holding players, decks, and game logic. */
     private final UnoModel model;
 
-    /** The view responsible for rendering the state of the game. */
+    /** The view responsible for rendering the state of the game (the publisher in game-thread mode). */
     private final UnoView view;
 
     /** The main game window containing UI components. */
@@ -23,6 +84,41 @@ public class UnoController implements ActionListener {
      */
     private boolean isAdvanced;
 
+    /** Single game thread running all model work, or null to run on the EDT. */
+    private final ExecutorService gameThread;
+
+    /** Forwards view updates to the EDT in game-thread mode, otherwise null. */
+    private final UnoEdtPublisher publisher;
+
+    /** Held by the game thread while it works on the model and by the EDT while it reads it. */
+    private final ReentrantLock modelLock = new ReentrantLock();
+
+    /** True while a user action is queued or running on the game thread. */
+    private final AtomicBoolean busy = new AtomicBoolean();
+
+    /** Measures click-to-paint latency, or null when not measuring. */
+    private UnoLatencyMonitor latency;
+
+    /** Strategy playing each seat, indexed by seat; null (or missing) for human seats. */
+    private final List<UnoStrategy> bots = new ArrayList<>();
+
+    /** True from the first of a run of bot turns until a human is to play (or the game stops). */
+    private volatile boolean botsPlaying;
+
+    /** A bot's decision: the card to play (null to draw) and the colour for a wild. */
+    private record BotMove(UnoModel.Card card, UnoModel.Colours colour) {
+    }
+
+    /** How a played card left the game. */
+    private enum PlayOutcome {
+        /** The round goes on; the turn still has to be advanced unless the card did it. */
+        CONTINUES,
+        /** The player won the round and a new round was dealt. */
+        NEW_ROUND,
+        /** The game is over, or the players did not choose to continue. */
+        STOPPED
+    }
+
 
     /**
      * Constructs a controller with the provided model, view, and frame.
@@ -32,13 +128,150 @@ public class UnoController implements ActionListener {
      * @param frame the top-level game window and UI handler
      */
     public UnoController(UnoModel model, UnoView view, UnoFrame frame) {
+        this(model, view, frame, false);
+    }
+
+    /**
+     * Constructs a controller, optionally running all game logic on a dedicated
+     * game thread. In that mode the model must notify {@link #getView()} rather
+     * than the frame, so that its updates reach the EDT.
+     *
+     * @param model the game model
+     * @param view the user interface view for displaying the game
+     * @param frame the top-level game window and UI handler
+     * @param useGameThread true to run game logic off the EDT
+     */
+    public UnoController(UnoModel model, UnoView view, UnoFrame frame, boolean useGameThread) {
         this.model = model;
-        this.view = view;
         this.frame = frame;
 
+        if (useGameThread) {
+            publisher = new UnoEdtPublisher(view, modelLock);
+            this.view = publisher;
+            gameThread = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "uno-game");
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            publisher = null;
+            this.view = view;
+            gameThread = null;
+        }
+
         isAdvanced = false;
     }
 
+    /**
+     * Lets a bot play a seat. The controller takes ownership of the bot, and
+     * closes the one it replaces.
+     * @param seat seat index (0-based, in turn order)
+     * @param bot the strategy playing the seat, or null for a human player
+     */
+    public void setBot(int seat, UnoStrategy bot) {
+        while (bots.size() <= seat) {
+            bots.add(null);
+        }
+        UnoBots.close(bots.set(seat, bot));
+    }
+
+    /** Closes every bot, once the game is over. */
+    private void closeBots() {
+        for (int seat = 0; seat < bots.size(); seat++) {
+            UnoBots.close(bots.set(seat, null));
+        }
+    }
+
+    /**
+     * @param seat seat index
+     * @return the bot playing the seat, or null for a human player
+     */
+    private UnoStrategy botAt(int seat) {
+        return seat < bots.size() ? bots.get(seat) : null;
+    }
+
+    /**
+     * Measures the latency of every following user action with the given monitor.
+     * @param latency the monitor, or null to stop measuring
+     */
+    public void setLatencyMonitor(UnoLatencyMonitor latency) {
+        this.latency = latency;
+    }
+
+    /**
+     * Ends the model phase of the measured action, if measuring.
+     * @param action what the user action turned out to be
+     */
+    private void traceModelDone(UnoLatencyMonitor.Action action) {
+        if (latency != null) {
+            latency.modelDone(action);
+        }
+    }
+
+    /** @return the view the model should notify: the EDT publisher in game-thread mode, otherwise the view itself */
+    public UnoView getView() {
+        return view;
+    }
+
+    /**
+     * Runs game logic: directly on the calling (EDT) thread, or on the game
+     * thread while holding the model lock.
+     * @param logic model and controller work to run
+     */
+    private void runGameLogic(Runnable logic) {
+        if (gameThread == null) {
+            logic.run();
+            return;
+        }
+        gameThread.execute(() -> {
+            modelLock.lock();
+            try {
+                logic.run();
+            } finally {
+                modelLock.unlock();
+                busy.set(false);
+            }
+        });
+    }
+
+    /**
+     * Applies a change to frame components: immediately on the EDT, or in the
+     * next batch published from the game thread.
+     * @param uiAction action touching Swing components
+     */
+    private void ui(Runnable uiAction) {
+        if (publisher == null) {
+            uiAction.run();
+        } else {
+            publisher.post(uiAction);
+        }
+    }
+
+    /**
+     * Shows a dialog and returns the user's choice. On the game thread the
+     * model lock is released while the dialog is open on the EDT, so the UI
+     * can keep refreshing from the model in the meantime.
+     * @param dialog dialog to show
+     * @return the dialog's result
+     */
+    private String ask(Supplier<String> dialog) {
+        if (gameThread == null) {
+            return dialog.get();
+        }
+        AtomicReference<String> answer = new AtomicReference<>();
+        modelLock.unlock();
+        try {
+            SwingUtilities.invokeAndWait(() -> answer.set(dialog.get()));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (InvocationTargetException ex) {
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            modelLock.lock();
+        }
+        return answer.get();
+    }
+
     /**
      * Starts the game by:
      * - Adding players from the frame
@@ -47,13 +280,16 @@ public class UnoController implements ActionListener {
      * - Enabling card interaction
      */
     public void play() {
-        for(String player: frame.getPlayerName()) {
-            model.addPlayer(player);
-        }
-        model.newRound();
-        //view.update(model);
-        view.updateHandPanel(model, this);
-        frame.enableCards();
+        runGameLogic(() -> {
+            for(String player: frame.getPlayerName()) {
+                model.addPlayer(player);
+            }
+            model.newRound();
+            //view.update(model);
+            view.updateHandPanel(model, this);
+            ui(frame::enableCards);
+            playBotTurns();
+        });
     }
 
 
@@ -63,152 +299,307 @@ public class UnoController implements ActionListener {
      * - "Draw Card" button
      * - Playing a selected card from the player's hand
      *
+     * The action is dispatched on its {@link Command}, and a clicked card is
+     * taken directly from the source component, so handling a click does not
+     * depend on the hand size. In game-thread mode the action is handed to the
+     * game thread, and clicks arriving while an earlier action is still being
+     * processed are ignored.
+     *
      * @param e the action event triggered by the UI
      */
     public void actionPerformed(ActionEvent e) {
+        Command command = Command.of(e.getActionCommand());
+        if (command == null) {
+            return;
+        }
+        UnoModel.Card card = command == Command.PLAY_CARD ? UnoFrame.cardOf(e.getSource()) : null;
+        if (command == Command.PLAY_CARD && card == null) {
+            return;
+        }
+        if (botsPlaying) {
+            return;                                         // Not this player's turn yet
+        }
+        if (gameThread != null && !busy.compareAndSet(false, true)) {
+            return;
+        }
+        if (latency != null) {
+            latency.begin();
+        }
+        runGameLogic(() -> handleAction(command, card));
+    }
 
-        // Handle Next Player button
-        if(e.getActionCommand().equals("Next Player")) {
-            if(!isAdvanced) {
-                model.advance();                         // Only advance if no card effect already advanced the turn
-            }
-            //view.update(model);
-            view.updateHandPanel(model, this);
-            frame.enableCards();
+    /**
+     * Applies a UI action to the model and updates the view.
+     *
+     * @param command the action to apply
+     * @param card the card to play for {@link Command#PLAY_CARD}, otherwise null
+     */
+    private void handleAction(Command command, UnoModel.Card card) {
+        switch (command) {
+            case NEXT_PLAYER -> nextPlayer();
+            case DRAW_CARD -> drawCard();
+            case PLAY_CARD -> playSelectedCard(card);
+        }
+    }
 
+    /** Hands the turn to the next player, unless a card effect already did. */
+    private void nextPlayer() {
+        if(!isAdvanced) {
+            model.advance();                         // Only advance if no card effect already advanced the turn
         }
+        //view.update(model);
+        view.updateHandPanel(model, this);
+        ui(frame::enableCards);
+        playBotTurns();
+        traceModelDone(UnoLatencyMonitor.Action.NEXT_PLAYER);
+    }
 
-        // Handle Draw Card button
-        if(e.getActionCommand().equals("Draw Card")) {
-            frame.getNextButton().setEnabled(true);
-            model.drawCard();                              // Draw card into player's hand
-            isAdvanced = false;
-            view.updateHandPanel(model, this);
-            frame.disableCards();                          // Disable cards until next turn
-            view.updateStatusMessage(model.getCurrPlayer().getName() + " draws a card.");
+    /**
+     * Starts playing the turns of bot seats if the current player is a bot,
+     * until a human is to play or the game stops. Each bot plays a legal card
+     * of its choice (with its colour for wilds) or draws, and the turn then
+     * advances as it would after a human's Next Player click.
+     * <p>
+     * Turns are scheduled one at a time, so the EDT stays responsive even
+     * when a bot thinks for a while or every seat is a bot.
+     * </p>
+     */
+    private void playBotTurns() {
+        UnoStrategy bot = botAt(model.getCurrPlayerIndex());
+        if (bot != null) {
+            botsPlaying = true;
+            ui(frame::disableCards);
+            scheduleBotTurn(bot);
+        }
+    }
 
+    /**
+     * Lets the bot decide off the EDT, then plays its move: on the game thread
+     * (deciding without the model lock, as only the game thread changes the
+     * model), or on the EDT once a Swing worker has decided.
+     * @param bot the bot of the current player
+     */
+    private void scheduleBotTurn(UnoStrategy bot) {
+        if (gameThread != null) {
+            gameThread.execute(() -> {
+                BotMove move = decide(bot);
+                modelLock.lock();
+                try {
+                    playBotMove(move);
+                } finally {
+                    modelLock.unlock();
+                }
+            });
+            return;
         }
+        new SwingWorker<BotMove, Void>() {
+            @Override
+            protected BotMove doInBackground() {
+                return decide(bot);                          // User actions are ignored, so the model stays put
+            }
 
-        // Handle card selections
-        else {
-            UnoModel.Card cardPicked = null;
-            String cmd;
+            @Override
+            protected void done() {
+                try {
+                    playBotMove(get());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException ex) {
+                    throw new IllegalStateException(ex.getCause());
+                }
+            }
+        }.execute();
+    }
 
-            // Identify which card was clicked by matching command strings
-            for(UnoModel.Card card: model.getCurrPlayer().getPersonalDeck()) { //Find the card that was picked
-                if(card.getValue().equals(UnoModel.Values.WILD) || card.getValue().equals(UnoModel.Values.WILD_DRAW_TWO)){
-                    cmd = card.getValue() + "_" + System.identityHashCode(card);        // Unique per instance
-                } else { cmd = card.getColour() + "_" + card.getValue();
+    /**
+     * @param bot the bot of the current player
+     * @return the bot's card (null to draw) and, for a wild, its colour
+     */
+    private BotMove decide(UnoStrategy bot) {
+        UnoModel.Card card = bot.chooseCard(model);
+        UnoModel.Values value = card == null ? null : card.getValue();
+        UnoModel.Colours colour = value == UnoModel.Values.WILD || value == UnoModel.Values.WILD_DRAW_TWO
+                ? bot.chooseColour(model) : null;
+        return new BotMove(card, colour);
+    }
 
-                } if(cmd.equals(e.getActionCommand())) {
-                    cardPicked = card;
-                    break;
+    /**
+     * Plays a bot's move for the current player, then schedules the next bot
+     * turn or hands over to the human who is to play.
+     * @param move the bot's decision
+     */
+    private void playBotMove(BotMove move) {
+        UnoModel.Player player = model.getCurrPlayer();
+        UnoModel.Card card = move.card();
+        if (card == null || player.getCount(card.getHandSlot()) == 0 || !model.isPlayable(card)) {
+            model.drawCard();
+            view.updateStatusMessage(player.getName() + " draws a card.");
+            model.advance();
+        } else {
+            switch (playCard(card, move.colour() == null ? null : move.colour().name())) {
+                case CONTINUES -> {
+                    if (!isAdvanced) {
+                        model.advance();
+                    }
+                }
+                case NEW_ROUND -> { }
+                case STOPPED -> {
+                    botsPlaying = false;
+                    return;
                 }
             }
+            isAdvanced = false;
+        }
+        UnoStrategy bot = botAt(model.getCurrPlayerIndex());
+        if (bot != null) {
+            scheduleBotTurn(bot);
+            return;
+        }
+        botsPlaying = false;
+        view.updateHandPanel(model, this);
+        ui(frame::enableCards);
+    }
 
-            // If card is valid and playable
-            if (cardPicked != null && model.isPlayable(cardPicked)) {
+    /** Draws a card for the current player, who must then end their turn. */
+    private void drawCard() {
+        ui(() -> frame.getNextButton().setEnabled(true));
+        model.drawCard();                              // Draw card into player's hand
+        isAdvanced = false;
+        view.updateHandPanel(model, this);
+        ui(frame::disableCards);                          // Disable cards until next turn
+        view.updateStatusMessage(model.getCurrPlayer().getName() + " draws a card.");
+        traceModelDone(UnoLatencyMonitor.Action.DRAW);
+    }
 
-                model.playCard(cardPicked);                 // Apply card to discard pile
-                model.setTopCard(cardPicked);               // Update the top card
+    /**
+     * Plays the card selected by the user, applying its effect and checking
+     * for a round or game winner. The card play and its effect are applied as
+     * one model batch, so views receive a single update.
+     *
+     * @param cardPicked the card whose button (or hand position) was clicked
+     */
+    private void playSelectedCard(UnoModel.Card cardPicked) {
+        // Ignore clicks on cards no longer in the current hand (e.g. a stale button)
+        if (model.getCurrPlayer().getCount(cardPicked.getHandSlot()) == 0) {
+            if (latency != null) {
+                latency.cancel();
+            }
+            return;
+        }
 
-                if(cardPicked.getValue().equals(UnoModel.Values.DRAW_ONE)){
-                    model.drawOne();                         // Next player draws one
-                    view.updateHandPanel(model, this);
-                    frame.disableCards();
-                    isAdvanced = false;
-                    view.updateStatusMessage(model.getNextPlayer().getName() + " draws a card");
-                }
+        // Invalid move feedback
+        if (!model.isPlayable(cardPicked)) {
+            if (latency != null) {
+                latency.cancel();
+            }
+            view.updateStatusMessage("Placing that card is not a valid move. Try again.");
+            return;
+        }
 
-                else if(cardPicked.getValue().equals(UnoModel.Values.REVERSE)) {
-                    model.reverse();                           // Reverse turn order
-                    view.updateHandPanel(model, this);
-                    frame.disableCards();
-                    isAdvanced = false;
-                    view.updateStatusMessage(model.getCurrPlayer().getName() + " has reversed the order");
-                }
+        UnoModel.Values value = cardPicked.getValue();
+        String colour = null;
+        if (value == UnoModel.Values.WILD || value == UnoModel.Values.WILD_DRAW_TWO) {
+            colour = ask(frame::colourSelectionDialog);                 // Choose new colour
+            if (latency != null) {
+                latency.restart();                                      // Don't count time spent in the dialog
+            }
+        }
 
-                else if(cardPicked.getValue().equals(UnoModel.Values.SKIP)) {
-                    String nextPlayer = model.getNextPlayer().getName();
-                    model.skip();                               // Skip next player's turn
-                    view.updateHandPanel(model, this);
-                    frame.disableCards();
-                    isAdvanced = true;                           // Skip already advances turn logic
-                    view.updateStatusMessage("Skip card has been played, " + nextPlayer + " skips their turn.");
-                    return;
-                }
+        if (playCard(cardPicked, colour) == PlayOutcome.NEW_ROUND) {
+            playBotTurns();                                             // A bot may open the new round
+        }
+    }
 
-                else if(cardPicked.getValue().equals(UnoModel.Values.WILD)) {
-                    String colour = frame.colourSelectionDialog(); // Choose new colour
-                    if(colour != null) {
+    /**
+     * Plays a legal card of the current player with its effect, shows what
+     * happened and, if the hand is now empty, scores the round (asking whether
+     * to play another one) or ends the game.
+     *
+     * @param cardPicked a playable card held by the current player
+     * @param colour colour name chosen for a wild, or null
+     * @return how the round continues after the card
+     */
+    private PlayOutcome playCard(UnoModel.Card cardPicked, String colour) {
+        UnoModel.Values value = cardPicked.getValue();
+        UnoModel.Player player = model.getCurrPlayer();
+        String nextPlayer = model.getNextPlayer().getName();
+
+        model.beginBatch();
+        try {
+            model.playCard(cardPicked);                             // Apply card to discard pile
+            model.setTopCard(cardPicked);                           // Update the top card
+
+            switch (value) {
+                case DRAW_ONE -> model.drawOne();                   // Next player draws one
+                case REVERSE -> model.reverse();                    // Reverse turn order
+                case SKIP -> model.skip();                          // Skip next player's turn
+                case WILD -> {
+                    if (colour != null) {
                         model.wild(UnoModel.Colours.valueOf(colour));
                     }
-                    view.updateHandPanel(model, this);
-                    frame.disableCards();
-                    isAdvanced = false;
-                    view.updateStatusMessage("New colour chosen, " + colour + ".");
                 }
-
-                else if(cardPicked.getValue().equals(UnoModel.Values.WILD_DRAW_TWO)) {
-                    String colour = frame.colourSelectionDialog();
-                    String nextPlayer = model.getNextPlayer().getName();
-                    if(colour != null) {
+                case WILD_DRAW_TWO -> {
+                    if (colour != null) {
                         model.wildDrawTwo(UnoModel.Colours.valueOf(colour));    // Next player draws 2 + skip
                     }
-
-                    view.updateHandPanel(model, this);
-                    frame.disableCards();
-                    isAdvanced = true;                                          // Turn skip already applied
-                    view.updateStatusMessage("New colour chosen, " + colour + ", " + nextPlayer + " draws two cards and skips their turn.");
-                    return;
                 }
+                default -> { }
+            }
+        } finally {
+            model.endBatch();
+        }
 
-                // Regular card played
-                else {
-                    view.updateHandPanel(model, this);
-                    frame.disableCards();
-                    isAdvanced = false;
-                    view.updateStatusMessage(model.getCurrPlayer().getName() + " played a card");
-                }
-
-                // Check win condition
-                if(model.isDeckEmpty()) {
-                    UnoModel.Player winner = model.getCurrPlayer();
-                    int score = model.getScore(winner);
-
-                    //If overall winner
-                    if(model.checkWinner(winner)) {
-                        view.updateWinner(winner.getName(), score);
-                        view.updateStatusMessage(winner.getName() + " is the Winner of the Game");
-                        frame.disableAllButtons();
-                    }
-
-                    // If round winner
-                    else {
-                        view.updateStatusMessage(winner.getName() +  " is the Winner of the Round, with " + score + " points.");
-                        String option = frame.newRoundSelectionDialog();
-                        if(option != null && option.equals("New Round")) {
-                            model.newRound();
-                            view.updateHandPanel(model, this);
-                            frame.enableCards();
-                            view.updateWinner(winner.getName(), score);
-                            return;
-
-                        }
-                        if(option != null && option.equals("Quit")) {
-                            System.exit(0);
-                            view.updateWinner(winner.getName(), score);
-                            return;
-                        }
+        view.updateHandPanel(model, this);
+        ui(frame::disableCards);
+        isAdvanced = value == UnoModel.Values.SKIP || value == UnoModel.Values.WILD_DRAW_TWO;   // Turn skip already applied
+
+        switch (value) {
+            case DRAW_ONE -> view.updateStatusMessage(model.getNextPlayer().getName() + " draws a card");
+            case REVERSE -> view.updateStatusMessage(model.getCurrPlayer().getName() + " has reversed the order");
+            case SKIP -> view.updateStatusMessage("Skip card has been played, " + nextPlayer + " skips their turn.");
+            case WILD -> view.updateStatusMessage("New colour chosen, " + colour + ".");
+            case WILD_DRAW_TWO -> view.updateStatusMessage("New colour chosen, " + colour + ", " + nextPlayer + " draws two cards and skips their turn.");
+            default -> view.updateStatusMessage(model.getCurrPlayer().getName() + " played a card");
+        }
+        traceModelDone(UnoLatencyMonitor.Action.of(value));
+
+        // Check win condition (also after a skip, which has already moved the turn on)
+        if(player.getHandSize() == 0) {
+            UnoModel.Player winner = player;
+            int score = model.getScore(winner);
+
+            //If overall winner
+            if(model.checkWinner(winner)) {
+                view.updateWinner(winner.getName(), score);
+                view.updateStatusMessage(winner.getName() + " is the Winner of the Game");
+                ui(frame::disableAllButtons);
+                closeBots();
+                return PlayOutcome.STOPPED;
+            }
 
+            // If round winner
+            else {
+                view.updateStatusMessage(winner.getName() +  " is the Winner of the Round, with " + score + " points.");
+                String option = ask(frame::newRoundSelectionDialog);
+                if(option != null && option.equals("New Round")) {
+                    model.newRound();
+                    isAdvanced = false;
+                    view.updateHandPanel(model, this);
+                    ui(frame::enableCards);
+                    view.updateWinner(winner.getName(), score);
+                    return PlayOutcome.NEW_ROUND;
 
-                    }
                 }
-            }
-            // Invalid move feedback
-            if(cardPicked != null && !model.isPlayable(cardPicked)){
-                view.updateStatusMessage("Placing that card is not a valid move. Try again.");
+                if(option != null && option.equals("Quit")) {
+                    closeBots();
+                    System.exit(0);
+                    view.updateWinner(winner.getName(), score);
+                    return PlayOutcome.STOPPED;
+                }
+                return PlayOutcome.STOPPED;
+
             }
         }
+        return PlayOutcome.CONTINUES;
     }
 }
@@ -0,0 +1,127 @@
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * UnoView that forwards view updates from the game thread to the Swing EDT.
+ * <p>
+ * When the controller runs game logic off the EDT, the model and controller
+ * talk to this publisher instead of the real view. Calls are recorded and
+ * applied on the EDT in one {@link SwingUtilities#invokeLater(Runnable)} batch:
+ * model updates are coalesced into a single {@link UnoView#update(UnoModel)},
+ * and other UI actions run in the order they were posted. A batch is applied
+ * at most once per frame ({@link #FRAME_MILLIS}), so a burst of model changes
+ * produces at most one repaint per frame.
+ * </p>
+ * The EDT reads the model while holding the game's model lock, so it never
+ * sees the model halfway through a game-thread action.
+ */
+public class UnoEdtPublisher implements UnoView {
+    /** Minimum time between two batches applied to the EDT (about 60 per second). */
+    public static final int FRAME_MILLIS = 16;
+
+    /** The real view, only called on the EDT. */
+    private final UnoView view;
+
+    /** Lock held by the game thread while it mutates the model. */
+    private final Lock modelLock;
+
+    /** UI actions posted since the last batch, in order (guarded by this). */
+    private List<Runnable> pending = new ArrayList<>();
+
+    /** Model to refresh the view from in the next batch, or null (guarded by this). */
+    private UnoModel updatedModel;
+
+    /** True while a batch is queued on the EDT (guarded by this). */
+    private boolean scheduled;
+
+    /** Time the last batch was applied (EDT only). */
+    private long lastFlushNanos;
+
+    /**
+     * Creates a publisher.
+     * @param view the real view to update on the EDT
+     * @param modelLock lock the game thread holds while mutating the model
+     */
+    public UnoEdtPublisher(UnoView view, Lock modelLock) {
+        this.view = view;
+        this.modelLock = modelLock;
+    }
+
+    /**
+     * Queues a UI action to run on the EDT in the next batch.
+     * @param uiAction action touching Swing components
+     */
+    public synchronized void post(Runnable uiAction) {
+        pending.add(uiAction);
+        schedule();
+    }
+
+    /** Requests a coalesced {@link UnoView#update(UnoModel)} in the next batch. */
+    @Override
+    public synchronized void update(UnoModel model) {
+        updatedModel = model;
+        schedule();
+    }
+
+    @Override
+    public void updateHandPanel(UnoModel model, UnoController controller) {
+        post(() -> view.updateHandPanel(model, controller));
+    }
+
+    @Override
+    public void updateStatusMessage(String msg) {
+        post(() -> view.updateStatusMessage(msg));
+    }
+
+    @Override
+    public void updateWinner(String winner, int score) {
+        post(() -> view.updateWinner(winner, score));
+    }
+
+    /** Queues one batch on the EDT unless one is already queued. */
+    private void schedule() {
+        if (!scheduled) {
+            scheduled = true;
+            SwingUtilities.invokeLater(this::flushWhenFrameElapsed);
+        }
+    }
+
+    /** Applies the batch now, or after the rest of the current frame has elapsed. */
+    private void flushWhenFrameElapsed() {
+        long waitMillis = FRAME_MILLIS - (System.nanoTime() - lastFlushNanos) / 1_000_000;
+        if (waitMillis > 0) {
+            Timer timer = new Timer((int) waitMillis, e -> flush());
+            timer.setRepeats(false);
+            timer.start();
+        } else {
+            flush();
+        }
+    }
+
+    /** Applies everything posted so far, on the EDT, under the model lock. */
+    private void flush() {
+        List<Runnable> actions;
+        UnoModel model;
+        synchronized (this) {
+            actions = pending;
+            model = updatedModel;
+            pending = new ArrayList<>();
+            updatedModel = null;
+            scheduled = false;
+        }
+        modelLock.lock();
+        try {
+            if (model != null) {
+                view.update(model);
+            }
+            for (Runnable action : actions) {
+                action.run();
+            }
+        } finally {
+            modelLock.unlock();
+        }
+        lastFlushNanos = System.nanoTime();
+    }
+}
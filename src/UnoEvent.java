@@ -0,0 +1,90 @@
+import java.util.EventObject;
+
+/**
+ * Fine-grained change event fired by the UnoModel.
+ * <p>
+ * Each event describes one kind of change, so listeners can redraw or
+ * forward only what actually changed instead of refreshing from the whole
+ * model. The source of every event is the UnoModel that changed.
+ * </p>
+ * The meaning of the event fields depends on the {@link Type}:
+ * <ul>
+ *  <li>CARD_PLAYED: player who played, card played</li>
+ *  <li>CARDS_DRAWN: player who drew, last card drawn, amount = number of cards drawn</li>
+ *  <li>TURN_ADVANCED: player whose turn it is now</li>
+ *  <li>DIRECTION_REVERSED: amount = new direction (+1 clockwise, -1 counterclockwise)</li>
+ *  <li>COLOUR_CHOSEN: colour chosen for the wild on top of the discard pile</li>
+ *  <li>ROUND_STARTED: player who starts, card = first top card</li>
+ *  <li>SCORE_CHANGED: player whose cumulative score changed, amount = new score</li>
+ *  <li>STATE_RESTORED: several parts of the state changed at once (undo, redo or a restored
+ *      {@link UnoState}); player whose turn it is, card = top card</li>
+ * </ul>
+ * Fields that do not apply are -1 (player, amount) or null (card, colour).
+ */
+public class UnoEvent extends EventObject {
+    private static final long serialVersionUID = 1L;
+
+    /** Kinds of model changes. */
+    public enum Type {CARD_PLAYED, CARDS_DRAWN, TURN_ADVANCED, DIRECTION_REVERSED, COLOUR_CHOSEN, ROUND_STARTED, SCORE_CHANGED, STATE_RESTORED}
+
+    private final Type type;
+    private final int playerIndex;
+    /** Pooled card; like the source, not kept when the event is serialized. */
+    private final transient UnoModel.Card card;
+    private final UnoModel.Colours colour;
+    private final int amount;
+
+    /**
+     * Creates an event.
+     * @param model the model that changed
+     * @param type kind of change
+     * @param playerIndex seat index of the player concerned, or -1
+     * @param card card concerned, or null
+     * @param colour colour concerned, or null
+     * @param amount count, direction or score (see class comment), or -1
+     */
+    public UnoEvent(UnoModel model, Type type, int playerIndex, UnoModel.Card card, UnoModel.Colours colour, int amount) {
+        super(model);
+        this.type = type;
+        this.playerIndex = playerIndex;
+        this.card = card;
+        this.colour = colour;
+        this.amount = amount;
+    }
+
+    /** @return the model that changed */
+    public UnoModel getModel() {
+        return (UnoModel) getSource();
+    }
+
+    /** @return kind of change */
+    public Type getType() {
+        return type;
+    }
+
+    /** @return seat index of the player concerned, or -1 */
+    public int getPlayerIndex() {
+        return playerIndex;
+    }
+
+    /** @return card concerned, or null */
+    public UnoModel.Card getCard() {
+        return card;
+    }
+
+    /** @return colour concerned, or null */
+    public UnoModel.Colours getColour() {
+        return colour;
+    }
+
+    /** @return count, direction or score depending on the type, or -1 */
+    public int getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return type + "[player=" + playerIndex + ", card=" + (card == null ? null : card.getFileName())
+                + ", colour=" + colour + ", amount=" + amount + "]";
+    }
+}
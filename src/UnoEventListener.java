@@ -0,0 +1,16 @@
+import java.util.EventListener;
+
+/**
+ * Listener for fine-grained {@link UnoEvent}s from the UnoModel.
+ *
+ * Listeners subscribe to the event types they care about through
+ * {@link UnoModel#addListener(UnoEventListener, UnoEvent.Type...)}.
+ */
+public interface UnoEventListener extends EventListener {
+
+    /**
+     * Called after the model changed.
+     * @param event what changed
+     */
+    void modelChanged(UnoEvent event);
+}
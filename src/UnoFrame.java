@@ -1,7 +1,9 @@
 import javax.swing.*;
 import java.awt.*;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * The main GUI window for the UNO game.
@@ -11,9 +13,12 @@ import java.util.List;
  * and action buttons. It does not contain any game logic; instead, it provides
  * UI elements that the controller can enable, disable, or update.
  * </p>
+ * The game board (everything inside the window) can also be built without a
+ * window, see {@link #offscreen(UnoImageCache, List)}; {@link UnoSnapshotRenderer}
+ * uses such boards to paint game states into images on headless machines.
  */
 
-public class UnoFrame implements UnoView {
+public class UnoFrame implements UnoView, UnoEventListener {
     /** Top-level application window. */
     private JFrame frame;
 
@@ -35,6 +40,9 @@ public class UnoFrame implements UnoView {
     /** Label containing the image of the top card. */
     private JLabel topCardLabel;
 
+    /** Scales the top card to the panel, re-rendering only on card or size changes. */
+    private UnoTopCardRenderer topCardRenderer;
+
     /** Status message area for game feedback. */
     private JLabel statusLabel;
 
@@ -50,13 +58,92 @@ public class UnoFrame implements UnoView {
     /** List of player names obtained during game setup. */
     private java.util.List<String> playerName;
 
+    /** Client property holding the spacing component that follows a card button. */
+    private static final String GAP_PROPERTY = "UnoFrame.gap";
+
+    /** Client property holding the model card a card button shows. */
+    private static final String CARD_PROPERTY = "UnoFrame.card";
+
+    /** Card buttons shown in the hand panel, in panel (hand) order. */
+    private final List<JButton> shownButtons = new ArrayList<>();
+
+    /** Card buttons removed from the hand panel, kept for reuse. */
+    private final Deque<JButton> spareButtons = new ArrayDeque<>();
+
+    /** Hands larger than this are shown by the virtualized {@link #handComponent}. */
+    private static final int LARGE_HAND = 30;
+
+    /** Custom-painted hand used instead of buttons for large hands. */
+    private UnoHandComponent handComponent;
+
+    /** Controller listening to the pooled card buttons. */
+    private UnoController handController;
+
+    /** Scaled card images: the 54 faces at hand size plus a few top-card sizes. */
+    private final UnoImageCache imageCache;
+
+    /** Root panel holding the whole game board. */
+    private JPanel board;
+
+    /** Background decoding of the card faces, started when the window appears. */
+    private CompletableFuture<Void> prewarm;
+
+    /** Time the background prewarm took, set on the EDT when it completes. */
+    private long prewarmNanos;
+
+    /** Time spent in the player setup dialogs. */
+    private long setupDialogNanos;
+
+    /** Launch time to report once the first hand is shown (EDT only), or 0 when not reporting. */
+    private long startupNanos;
+
+    /**
+     * True when the current-player label must be redrawn on the next update.
+     * Set by model events on the game thread and cleared on the EDT, hence volatile.
+     */
+    private volatile boolean playerChanged = true;
+
+    /** True when the top card image must be redrawn on the next update. */
+    private volatile boolean topCardChanged = true;
+
+    /**
+     * True once the frame has received a model event; until then (e.g. when it
+     * was only registered with {@link UnoModel#addView}) every update redraws everything.
+     */
+    private volatile boolean receivingEvents;
+
     /**
      * Constructs the game window and initializes all graphical components.
      */
     public UnoFrame () {
+        imageCache = new UnoImageCache(128);
         initializeGUI();
     }
 
+    /**
+     * Constructs a game board without a window or setup dialogs.
+     * @param imageCache cache providing the card images
+     * @param playerNames players shown on the scoreboard
+     */
+    private UnoFrame(UnoImageCache imageCache, List<String> playerNames) {
+        this.imageCache = imageCache;
+        board = buildBoard(false);
+        showPlayers(playerNames);
+    }
+
+    /**
+     * Creates a game board that is never shown in a window, for painting game
+     * states offscreen (also under {@code java.awt.headless=true}). Its
+     * components must only be used by one thread at a time, which need not be
+     * the EDT; it shares the given image cache with other boards.
+     * @param imageCache cache providing the card images
+     * @param playerNames players shown on the scoreboard
+     * @return the offscreen board; see {@link #getBoard()}
+     */
+    static UnoFrame offscreen(UnoImageCache imageCache, List<String> playerNames) {
+        return new UnoFrame(imageCache, playerNames);
+    }
+
     /**
      * Builds all GUI panels, prompts for number of players and names,
      * sets up the scoreboard, hand panel, top card panel, and buttons.
@@ -65,7 +152,52 @@ public class UnoFrame implements UnoView {
         frame = new JFrame ("UNO Game");
         frame.setSize (1000, 700);
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
-        frame.setLayout(new BorderLayout(10, 10));
+        board = buildBoard(true);
+        frame.setContentPane(board);
+        
+        frame.setVisible (true);
+
+        // ----- Decode card images in the background while the setup dialogs are open -----
+        long prewarmStart = System.nanoTime();
+        prewarm = imageCache.prewarm(UnoImageCache.CARD_WIDTH, UnoImageCache.CARD_HEIGHT);
+        prewarm.thenRun(() -> prewarmNanos = System.nanoTime() - prewarmStart);
+        long dialogStart = System.nanoTime();
+
+        // ----- Prompt Player Count -----
+        String[] playerOptions = {"2", "3", "4"};
+        String playerCount = (String) JOptionPane.showInputDialog(frame, "Select Number of Players:", "Player Setup", JOptionPane.QUESTION_MESSAGE, null, playerOptions, playerOptions[0]);
+
+        // If canceled, exit
+        if (playerCount == null){
+            System.exit(0);
+        }
+
+        // ----- Prompt Player Names -----
+        int count = Integer.parseInt(playerCount);
+        playerName = new ArrayList<>();
+        for (int i = 1; i <= count; i++){
+            String name = JOptionPane.showInputDialog(frame, "Enter name for Player "+ i + ":", "Player Setup", JOptionPane.QUESTION_MESSAGE);
+            if (name == null || name.trim().isEmpty()){
+                name = "Player" + i;
+            }
+        playerName.add(name);
+        }
+
+        // ----- Setup Scoreboard for Actual Player Count -----
+        showPlayers(playerName);
+
+        setupDialogNanos = System.nanoTime() - dialogStart;
+    }
+
+    /**
+     * Builds the game board: info labels, scoreboard, top card panel, hand
+     * panel and buttons.
+     * @param followResizes true to re-render the top card when its panel is
+     *                      resized (on the EDT); offscreen boards render it explicitly
+     * @return the root panel of the board
+     */
+    private JPanel buildBoard(boolean followResizes) {
+        JPanel board = new JPanel(new BorderLayout(10, 10));
 
         // ----- Top info panel: Current player + Status message -----
         JPanel infoPanel = new JPanel();
@@ -77,7 +209,7 @@ public class UnoFrame implements UnoView {
         statusLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
         statusLabel.setForeground(Color.red);
         infoPanel.add(statusLabel);
-        frame.add(infoPanel, BorderLayout.NORTH);
+        board.add(infoPanel, BorderLayout.NORTH);
 
         // ----- Scoreboard Panel -----
         scoreBoardPanel = new JPanel();
@@ -87,7 +219,7 @@ public class UnoFrame implements UnoView {
         for (int i = 1; i <= 4; i++){
             scoreBoardPanel.add(new JLabel("Player " + i + ": "));
         }
-        frame.add(scoreBoardPanel, BorderLayout.WEST);
+        board.add(scoreBoardPanel, BorderLayout.WEST);
 
         // ----- Top Card Panel -----
         topCardPanel = new JPanel(new GridBagLayout());
@@ -98,7 +230,8 @@ public class UnoFrame implements UnoView {
         topCardLabel.setVerticalAlignment(JLabel.CENTER);
         //topCardLabel.setPreferredSize(new Dimension(80, 120));
         topCardPanel.add(topCardLabel);
-        frame.add(topCardPanel, BorderLayout.CENTER);
+        topCardRenderer = new UnoTopCardRenderer(topCardPanel, topCardLabel, imageCache, followResizes);
+        board.add(topCardPanel, BorderLayout.CENTER);
 
         // ----- Player Hand Panel -----
         handPanel = new JPanel();
@@ -119,6 +252,9 @@ public class UnoFrame implements UnoView {
         controlPanel = new JPanel(new BorderLayout());
         controlPanel.setPreferredSize(new Dimension(400, 300));
 
+        handComponent = new UnoHandComponent(imageCache);
+        handComponent.setBorder(BorderFactory.createTitledBorder("Player's Deck"));
+
         deckScrollPane = new JScrollPane(handPanel);
         deckScrollPane.setPreferredSize(new Dimension(400, 300));
         deckScrollPane.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_ALWAYS);
@@ -127,31 +263,16 @@ public class UnoFrame implements UnoView {
         controlPanel.add(deckScrollPane, BorderLayout.NORTH);
         controlPanel.add(buttonPanel, BorderLayout.CENTER);
 
-        frame.add(controlPanel, BorderLayout.EAST);
-        
-        frame.setVisible (true);
-
-        // ----- Prompt Player Count -----
-        String[] playerOptions = {"2", "3", "4"};
-        String playerCount = (String) JOptionPane.showInputDialog(frame, "Select Number of Players:", "Player Setup", JOptionPane.QUESTION_MESSAGE, null, playerOptions, playerOptions[0]);
-
-        // If canceled, exit
-        if (playerCount == null){
-            System.exit(0);
-        }
-
-        // ----- Prompt Player Names -----
-        int count = Integer.parseInt(playerCount);
-        playerName = new ArrayList<>();
-        for (int i = 1; i <= count; i++){
-            String name = JOptionPane.showInputDialog(frame, "Enter name for Player "+ i + ":", "Player Setup", JOptionPane.QUESTION_MESSAGE);
-            if (name == null || name.trim().isEmpty()){
-                name = "Player" + i;
-            }
-        playerName.add(name);
-        }
+        board.add(controlPanel, BorderLayout.EAST);
+        return board;
+    }
 
-        // ----- Setup Scoreboard for Actual Player Count -----
+    /**
+     * Sets up the scoreboard with one zero score per player.
+     * @param names the players' names
+     */
+    private void showPlayers(List<String> names) {
+        playerName = new ArrayList<>(names);
         scoreBoardPanel.removeAll();
         scoreBoardPanel.setLayout(new GridLayout(playerName.size(), 1, 5, 5));
         for(int i = 0; i < playerName.size(); i++){
@@ -160,7 +281,55 @@ public class UnoFrame implements UnoView {
         }
         scoreBoardPanel.revalidate();
         scoreBoardPanel.repaint();
+    }
+
+    /** @return the root panel of the game board (the window's content pane when shown) */
+    JPanel getBoard() {
+        return board;
+    }
 
+    /** @return the panel holding one button per card, used for hands of up to {@link #LARGE_HAND} cards */
+    JPanel getHandPanel() {
+        return handPanel;
+    }
+
+    /**
+     * Shows a complete game state on an offscreen board: current player, status,
+     * hand, scores and, once the board has been laid out, the top card.
+     * Call again after a layout to render a top card that needed the panel size.
+     * @param model the game state to show (only read)
+     * @param status status message to display
+     */
+    void showState(UnoModel model, String status) {
+        if (playerName.size() != model.getPlayerCount()) {
+            List<String> names = new ArrayList<>();
+            for (int i = 0; i < model.getPlayerCount(); i++) {
+                names.add(model.getPlayer(i).getName());
+            }
+            showPlayers(names);
+        }
+        playerChanged = true;
+        topCardChanged = true;
+        update(model);
+        updateHandPanel(model, null);
+        updateStatusMessage(status);
+        for (int i = 0; i < model.getPlayerCount(); i++) {
+            String name = model.getPlayer(i).getName();
+            JLabel score = (JLabel) scoreBoardPanel.getComponent(i);
+            score.setText(name + ": " + model.getFinalScore(name));
+        }
+    }
+
+    /**
+     * Prints how long it took from launch until the first hand was shown,
+     * and how long the background image prewarm took.
+     * @param startNanos {@link System#nanoTime()} when the application started
+     */
+    private void reportStartup(long startNanos) {
+        long total = System.nanoTime() - startNanos;
+        System.out.printf("Startup to first rendered hand: %.1f ms (%.1f ms excluding setup dialogs)%n",
+                total / 1e6, (total - setupDialogNanos) / 1e6);
+        prewarm.thenRun(() -> System.out.printf("Card images prewarmed in %.1f ms (%s)%n", prewarmNanos / 1e6, imageCache));
     }
 
     /** @return the label that shows the top card image. */
@@ -225,49 +394,136 @@ public class UnoFrame implements UnoView {
      * @return a button containing the card image and correct action command
      */
     public JButton cardButtons(UnoModel.Card card) {
-        JButton cardButton = new JButton(resizeImage(card.getFileName(), 150, 250));
-        cardButton.setPreferredSize(new Dimension(150, 250));
-        cardButton.setMaximumSize(new Dimension(150, 250));
-        cardButton.setMinimumSize(new Dimension(150, 250));
+        JButton cardButton = new JButton();
+        cardButton.setPreferredSize(new Dimension(UnoImageCache.CARD_WIDTH, UnoImageCache.CARD_HEIGHT));
+        cardButton.setMaximumSize(new Dimension(UnoImageCache.CARD_WIDTH, UnoImageCache.CARD_HEIGHT));
+        cardButton.setMinimumSize(new Dimension(UnoImageCache.CARD_WIDTH, UnoImageCache.CARD_HEIGHT));
+        bindCardButton(cardButton, card);
+        return cardButton;
+    }
+
+    /**
+     * Points an existing card button at a card: sets its image, action command
+     * and the card it selects.
+     * @param cardButton button created by {@link #cardButtons(UnoModel.Card)}
+     * @param card the model card
+     */
+    private void bindCardButton(JButton cardButton, UnoModel.Card card) {
+        cardButton.setIcon(imageCache.get(card, UnoImageCache.CARD_WIDTH, UnoImageCache.CARD_HEIGHT));
+        cardButton.setActionCommand(UnoController.Command.PLAY_CARD.getActionCommand());
+        cardButton.putClientProperty(CARD_PROPERTY, card);
+    }
 
-        if(card.getValue().equals(UnoModel.Values.WILD) || card.getValue().equals(UnoModel.Values.WILD_DRAW_TWO)) {
-            cardButton.setActionCommand(card.getValue() + "_" + System.identityHashCode(card));
+    /**
+     * Returns the card selected by a component that fired an action, in
+     * constant time: the card bound to a card button, or the card last clicked
+     * in the custom-painted hand.
+     * @param source the component that fired the action
+     * @return the selected card, or null if the source does not select a card
+     */
+    public static UnoModel.Card cardOf(Object source) {
+        if (source instanceof UnoHandComponent hand) {
+            return hand.getSelectedCard();
         }
-        else {
-            cardButton.setActionCommand(card.getColour() + "_" + card.getValue());
+        if (source instanceof JComponent component
+                && component.getClientProperty(CARD_PROPERTY) instanceof UnoModel.Card card) {
+            return card;
         }
-
-        return cardButton;
+        return null;
     }
 
     /**
-     * Rebuilds the hand panel with card buttons for the current player.
+     * Updates the hand panel to show the given cards.
      * @param cards list of cards to display
      * @param controller the action listener for card clicks
      */
     public void handPanelButtons(List<UnoModel.Card> cards, UnoController controller) {
-       handPanel.removeAll();
-        for(UnoModel.Card c: cards) {
-            JButton cardButton = cardButtons(c);
-            cardButton.addActionListener(controller);
-            handPanel.add(cardButton);
-            handPanel.add(Box.createRigidArea(new Dimension(10, 0)));
+        updateHandButtons(cards, controller);
+    }
+
+    /**
+     * Brings the hand panel in line with the given cards by diffing them
+     * against the buttons already shown. Buttons in the longest common prefix
+     * and suffix are kept, and only the cards in between are replaced; removed
+     * buttons go to a spare pool and are reused for the next cards added, so
+     * playing one card or drawing costs the same however large the hand is.
+     *
+     * @param cards cards to show, in hand order
+     * @param controller the action listener for card clicks
+     */
+    private void updateHandButtons(List<UnoModel.Card> cards, UnoController controller) {
+        if (controller != handController) {
+            // Buttons listen to a single controller; start over with a new one
+            handPanel.removeAll();
+            spareButtons.clear();
+            shownButtons.clear();
+            handController = controller;
+        }
+
+        int shown = shownButtons.size();
+        int want = cards.size();
+        int prefix = 0;
+        while (prefix < shown && prefix < want && cardOf(shownButtons.get(prefix)) == cards.get(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < shown - prefix && suffix < want - prefix
+                && cardOf(shownButtons.get(shown - 1 - suffix)) == cards.get(want - 1 - suffix)) {
+            suffix++;
+        }
+        if (prefix == shown && prefix == want) {
+            return;
+        }
+
+        for (int i = shown - suffix - 1; i >= prefix; i--) {
+            JButton cardButton = shownButtons.remove(i);
+            handPanel.remove(2 * i + 1);                             // Spacing after the button
+            handPanel.remove(2 * i);
+            spareButtons.push(cardButton);
+        }
+        for (int i = prefix; i < want - suffix; i++) {
+            JButton cardButton = obtainCardButton(cards.get(i), controller);
+            handPanel.add(cardButton, 2 * i);
+            handPanel.add((Component) cardButton.getClientProperty(GAP_PROPERTY), 2 * i + 1);
+            shownButtons.add(i, cardButton);
         }
         handPanel.revalidate();
         handPanel.repaint();
     }
 
+    /**
+     * Takes a button from the spare pool (or creates one) and binds it to a card.
+     * @param card the model card
+     * @param controller the action listener for card clicks
+     * @return a detached card button with its spacing component
+     */
+    private JButton obtainCardButton(UnoModel.Card card, UnoController controller) {
+        JButton cardButton = spareButtons.poll();
+        if (cardButton == null) {
+            cardButton = cardButtons(card);
+            cardButton.addActionListener(controller);
+            cardButton.putClientProperty(GAP_PROPERTY, Box.createRigidArea(new Dimension(10, 0)));
+        } else {
+            bindCardButton(cardButton, card);
+        }
+        return cardButton;
+    }
+
     /**
      * Scales an image file to create a consistent card display.
+     * Scaled images are served from the frame's {@link UnoImageCache}.
      * @param file filename/path of the image
      * @param width target width
      * @param height target height
      * @return ImageIcon resized to the given dimensions
      */
     public ImageIcon resizeImage(String file, int width, int height) {
-        ImageIcon image = new ImageIcon(file);
-        Image resize = image.getImage().getScaledInstance(width, height, Image.SCALE_SMOOTH);
-        return new ImageIcon(resize);
+        return imageCache.get(file, width, height);
+    }
+
+    /** @return the cache of scaled card images (with hit/miss counters) */
+    public UnoImageCache getImageCache() {
+        return imageCache;
     }
 
     /**
@@ -276,9 +532,9 @@ public class UnoFrame implements UnoView {
      */
     public void addController(UnoController controller) {
         nextButton.addActionListener(controller);
-        nextButton.setActionCommand("Next Player");
+        nextButton.setActionCommand(UnoController.Command.NEXT_PLAYER.getActionCommand());
         drawButton.addActionListener(controller);
-        drawButton.setActionCommand("Draw Card");
+        drawButton.setActionCommand(UnoController.Command.DRAW_CARD.getActionCommand());
     }
 
     /**
@@ -289,6 +545,7 @@ public class UnoFrame implements UnoView {
         drawButton.setEnabled(true);
         nextButton.setEnabled(false); //player can only press once they play or draw a card
 
+        handComponent.setEnabled(true);
         for(Component comp: handPanel.getComponents()) { //goes through all the buttons in hand panel
             if(comp instanceof JButton) {
                 comp.setEnabled(true);
@@ -303,6 +560,7 @@ public class UnoFrame implements UnoView {
         drawButton.setEnabled(false);
         nextButton.setEnabled(true);
 
+        handComponent.setEnabled(false);
         for(Component comp: handPanel.getComponents()) {
             if(comp instanceof JButton) {
                 comp.setEnabled(false);
@@ -317,6 +575,7 @@ public class UnoFrame implements UnoView {
         drawButton.setEnabled(false);
         nextButton.setEnabled(false);
 
+        handComponent.setEnabled(false);
         for(Component comp: handPanel.getComponents()) {
             if(comp instanceof JButton) {
                 comp.setEnabled(false);
@@ -326,7 +585,9 @@ public class UnoFrame implements UnoView {
 
     // ---------------- Interface Methods ----------------
     /**
-     * Updates the top portion of the GUI:
+     * Updates the top portion of the GUI, redrawing only what the model
+     * events since the last update marked as changed (or everything, if the
+     * frame is not registered as a listener and never receives events):
      *  - Displays the current player's name
      *  - Updates the top card image
      *
@@ -334,31 +595,79 @@ public class UnoFrame implements UnoView {
      */
     @Override
     public void update(UnoModel model) {
-        currentPlayerLabel.setText("Current Player: " + model.getCurrPlayer().getName());
+        boolean redrawAll = !receivingEvents;
+        // Flags are cleared before the model is read, so an event arriving meanwhile is not lost
+        if (playerChanged || redrawAll) {
+            playerChanged = false;
+            currentPlayerLabel.setText("Current Player: " + model.getCurrPlayer().getName());
+        }
 
-        // Resize and update the displayed top card image
-        Dimension topCardSize = getTopCardPanel().getSize();
-        getTopCardLabel().setIcon(
-                resizeImage(
-                        model.getTopCard().getFileName(),
-                        topCardSize.width - 180,
-                        topCardSize.height - 250
-                )
-        );
+        // Update the displayed top card image (rescaled only for a new card or panel size)
+        if (topCardChanged || redrawAll) {
+            topCardChanged = false;
+            topCardRenderer.setCard(model.getTopCard());
+        }
+    }
+
+    /**
+     * Records which regions of the display a model change affects; they are
+     * redrawn on the next (coalesced) {@link #update(UnoModel)}.
+     *
+     * @param event the model change
+     */
+    @Override
+    public void modelChanged(UnoEvent event) {
+        receivingEvents = true;
+        switch (event.getType()) {
+            case TURN_ADVANCED -> playerChanged = true;
+            case CARD_PLAYED, COLOUR_CHOSEN -> topCardChanged = true;
+            case ROUND_STARTED, STATE_RESTORED -> {
+                playerChanged = true;
+                topCardChanged = true;
+            }
+            default -> { }
+        }
     }
 
     /**
      * Updates the player's hand panel by:
-     *  - Removing old card buttons
-     *  - Creating fresh buttons for the current player's hand
-     *  - Adding listeners for each card button
+     *  - Showing hands of more than {@link #LARGE_HAND} cards with the custom-painted
+     *    {@link UnoHandComponent}; otherwise:
+     *  - Comparing the current player's cards, in the order they were drawn, with the buttons shown
+     *  - Removing buttons for cards no longer held (into a reuse pool)
+     *  - Adding pooled or new buttons, with listeners, for newly held cards
      *
      * @param model the game model containing the player's hand
      * @param controller controller handling card-click events
      */
     @Override
     public void updateHandPanel(UnoModel model, UnoController controller) {
-        handPanelButtons(model.getCurrPlayer().getPersonalDeck(), controller);
+        UnoModel.Player player = model.getCurrPlayer();
+        if (player.getHandSize() > LARGE_HAND) {
+            // Very large hand: paint only the visible cards instead of one button per card
+            handComponent.setActionListener(controller);
+            handComponent.setHand(player);
+            showHandView(handComponent);
+            return;
+        }
+        updateHandButtons(player.getPersonalDeck(), controller);
+        showHandView(handPanel);
+    }
+
+    /**
+     * Puts the given hand view (button panel or custom-painted hand) in the scroll pane.
+     * @param handView component to show
+     */
+    private void showHandView(JComponent handView) {
+        if (deckScrollPane.getViewport().getView() != handView) {
+            deckScrollPane.setViewportView(handView);
+        }
+        if (startupNanos != 0) {
+            long start = startupNanos;
+            startupNanos = 0;
+            // Queued behind the first hand's layout and paint work, wherever the round was dealt
+            SwingUtilities.invokeLater(() -> reportStartup(start));
+        }
     }
 
     /**
@@ -394,16 +703,48 @@ public class UnoFrame implements UnoView {
 
     /**
      * Main method to launch the standalone UNO game window.
+     * The GUI is built and run on the EDT; with {@code -Duno.gameThread=true}
+     * the game logic runs on a separate game thread. With {@code -Duno.latency=true}
+     * click-to-paint latency is measured, exposed through JMX and written every
+     * {@code uno.latency.period} seconds (default 10) to {@code uno.latency.dump}
+     * (default {@code uno-latency.txt}).
+     * {@code -Duno.bots=,greedy,hoard} lets bots take seats: one comma-separated
+     * entry per seat, empty for a human and otherwise a {@link UnoBots#byName} name.
+     * {@code -Duno.startup=true} prints the time from launch to the first rendered hand.
      */
     public static void main(String[] args) {
-        UnoFrame frame = new UnoFrame();
-        UnoModel model = new UnoModel();
-        UnoView view = frame;
-        UnoController controller = new UnoController(model, view, frame);
-
-        model.addView(view);
+        long startNanos = System.nanoTime();
+        SwingUtilities.invokeLater(() -> {
+            UnoFrame frame = new UnoFrame();
+            UnoModel model = new UnoModel();
+            UnoView view = frame;
+            UnoLatencyMonitor latency = null;
+            if (Boolean.getBoolean("uno.latency")) {
+                latency = new UnoLatencyMonitor();
+                latency.installRepaintManager();
+                latency.register();
+                latency.startDumping(Path.of(System.getProperty("uno.latency.dump", "uno-latency.txt")),
+                        Long.getLong("uno.latency.period", 10));
+                view = latency.timed(frame);
+            }
+            UnoController controller = new UnoController(model, view, frame, Boolean.getBoolean("uno.gameThread"));
+
+            model.addListener(frame, UnoEvent.Type.TURN_ADVANCED, UnoEvent.Type.CARD_PLAYED,
+                    UnoEvent.Type.COLOUR_CHOSEN, UnoEvent.Type.ROUND_STARTED, UnoEvent.Type.STATE_RESTORED);
+            model.addView(controller.getView());
+            controller.setLatencyMonitor(latency);
+            String[] bots = System.getProperty("uno.bots", "").split(",");
+            for (int seat = 0; seat < bots.length; seat++) {
+                if (!bots[seat].isBlank()) {
+                    controller.setBot(seat, UnoBots.byName(bots[seat], System.nanoTime() + seat));
+                }
+            }
 
-        frame.addController(controller);
-        controller.play();
+            frame.addController(controller);
+            if (Boolean.getBoolean("uno.startup")) {
+                frame.startupNanos = startNanos;
+            }
+            controller.play();
+        });
     }
 }
\ No newline at end of file
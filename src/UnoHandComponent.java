@@ -0,0 +1,195 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Custom-painted, virtualized view of a player's hand for very large hands.
+ * <p>
+ * Instead of one JButton per card, the whole hand is a single component that
+ * lays cards out in a row and paints only those intersecting the visible
+ * (clipped) area of the scroll viewport. A click is hit-tested to a card and
+ * forwarded to the action listener (the UnoController) with the same action
+ * command a card button sends; the clicked card is {@link #getSelectedCard()}. Paint time therefore
+ * stays constant however many cards the hand holds, and memory is one int per card.
+ * </p>
+ */
+public final class UnoHandComponent extends JComponent implements Scrollable {
+    private static final long serialVersionUID = 1L;
+
+    /** Horizontal space between two cards. */
+    private static final int GAP = 10;
+
+    /** Distance between the left edges of two neighbouring cards. */
+    private static final int STRIDE = UnoImageCache.CARD_WIDTH + GAP;
+
+    /** Colour painted over the cards while the hand is disabled. */
+    private static final Color DISABLED_OVERLAY = new Color(238, 238, 238, 140);
+
+    /** Hand slot of each card shown, in hand order; only the first {@link #handSize} are used. */
+    private int[] slots = new int[64];
+
+    /** Total number of cards shown. */
+    private int handSize;
+
+    /** Source of the scaled card images. */
+    private final transient UnoImageCache imageCache;
+
+    /** Receives card selections (the controller). */
+    private transient ActionListener listener;
+
+    /** Card of the last click forwarded to the listener. */
+    private transient UnoModel.Card selectedCard;
+
+    /**
+     * Creates an empty hand component.
+     * @param imageCache cache providing the card images
+     */
+    public UnoHandComponent(UnoImageCache imageCache) {
+        this.imageCache = imageCache;
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                selectCardAt(e.getPoint());
+            }
+        });
+    }
+
+    /**
+     * Shows the given player's hand.
+     * @param player the player whose cards are displayed
+     */
+    public void setHand(UnoModel.Player player) {
+        List<UnoModel.Card> cards = player.getPersonalDeck();
+        handSize = cards.size();
+        if (slots.length < handSize) {
+            slots = new int[Math.max(handSize, slots.length * 2)];
+        }
+        for (int i = 0; i < handSize; i++) {
+            slots[i] = cards.get(i).getHandSlot();
+        }
+        revalidate();
+        repaint();
+    }
+
+    /** @param listener receives a play-card ActionEvent from this component on each card click */
+    public void setActionListener(ActionListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * @param index position of the card in the row
+     * @return the card shown at that position
+     */
+    public UnoModel.Card cardAt(int index) {
+        return UnoModel.Card.ofIndex(slots[Objects.checkIndex(index, handSize)]);
+    }
+
+    /**
+     * @param point location in component coordinates
+     * @return position of the card under the point, or -1 if there is none
+     */
+    public int indexAt(Point point) {
+        Insets insets = getInsets();
+        int x = point.x - insets.left;
+        int y = point.y - insets.top;
+        if (x < 0 || y < 0 || y >= UnoImageCache.CARD_HEIGHT || x % STRIDE >= UnoImageCache.CARD_WIDTH) {
+            return -1;
+        }
+        int index = x / STRIDE;
+        return index < handSize ? index : -1;
+    }
+
+    /** @return the card of the last click forwarded to the listener, or null */
+    public UnoModel.Card getSelectedCard() {
+        return selectedCard;
+    }
+
+    /**
+     * Forwards a click on a card to the listener as a play-card action.
+     * @param point click location in component coordinates
+     */
+    private void selectCardAt(Point point) {
+        int index = indexAt(point);
+        if (!isEnabled() || listener == null || index < 0) {
+            return;
+        }
+        selectedCard = cardAt(index);
+        listener.actionPerformed(new ActionEvent(this, ActionEvent.ACTION_PERFORMED,
+                UnoController.Command.PLAY_CARD.getActionCommand()));
+    }
+
+    /**
+     * Paints only the cards inside the clip rectangle.
+     * @param g graphics context
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        Rectangle clip = g.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        g.setColor(getBackground());
+        g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        if (handSize == 0) {
+            return;
+        }
+
+        Insets insets = getInsets();
+        int first = Math.max(0, (clip.x - insets.left) / STRIDE);
+        int last = Math.min(handSize - 1, (clip.x + clip.width - insets.left) / STRIDE);
+
+        for (int index = first; index <= last; index++) {
+            UnoModel.Card card = UnoModel.Card.ofIndex(slots[index]);
+            Image image = imageCache.get(card, UnoImageCache.CARD_WIDTH, UnoImageCache.CARD_HEIGHT).getImage();
+            g.drawImage(image, insets.left + index * STRIDE, insets.top, this);
+        }
+
+        if (!isEnabled()) {
+            g.setColor(DISABLED_OVERLAY);
+            g.fillRect(clip.x, clip.y, clip.width, clip.height);
+        }
+    }
+
+    /** @return true: every pixel is painted by {@link #paintComponent(Graphics)} */
+    @Override
+    public boolean isOpaque() {
+        return true;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        Insets insets = getInsets();
+        int width = Math.max(0, handSize * STRIDE - GAP);
+        return new Dimension(insets.left + width + insets.right, insets.top + UnoImageCache.CARD_HEIGHT + insets.bottom);
+    }
+
+    @Override
+    public Dimension getPreferredScrollableViewportSize() {
+        return getPreferredSize();
+    }
+
+    @Override
+    public int getScrollableUnitIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.HORIZONTAL ? STRIDE : 10;
+    }
+
+    @Override
+    public int getScrollableBlockIncrement(Rectangle visibleRect, int orientation, int direction) {
+        return orientation == SwingConstants.HORIZONTAL ? visibleRect.width : visibleRect.height;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportWidth() {
+        return false;
+    }
+
+    @Override
+    public boolean getScrollableTracksViewportHeight() {
+        return true;
+    }
+}
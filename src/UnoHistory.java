@@ -0,0 +1,233 @@
+import java.util.Arrays;
+
+/**
+ * Bounded undo/redo log of reversible model changes, kept by a
+ * {@link UnoModel} (see {@link UnoModel#setUndoCapacity(int)}).
+ * <p>
+ * Every mutation is recorded as a small delta packed into one {@code long}
+ * (card played, card drawn, direction flipped, turn moved, wild colour set,
+ * top card set, score added), so a move costs a few longs whatever the length
+ * of the game. The only delta with a payload replaces the whole state (a new
+ * round or a restored {@link UnoState}); it keeps two compact snapshots, before
+ * and after, instead of one delta per dealt card.
+ * </p>
+ * <p>
+ * Deltas are grouped into steps: a step is everything one outermost model
+ * call or batch changed (e.g. a whole {@link UnoModel#wildDrawTwo} or a card
+ * played with its effect), and undo/redo always move by whole steps. Deltas
+ * live in a ring buffer: recording, undoing and redoing a step take time
+ * proportional to the step's size only, and when the buffer is full the
+ * oldest step is forgotten. Recording after an undo discards the redo steps.
+ * A step that alone fills the ring is reported by {@link #isStepFull()}, and
+ * the model then collapses it into one STATE delta ({@link #stepSize()},
+ * {@link #discardStep()}), so even a step larger than the log stays undoable.
+ * </p>
+ * Deltas are encoded as: kind (bits 0-3), step end (bit 4), player (bits 8-15),
+ * two card or colour codes (bits 16-23 and 24-31) and a signed value (bits 32-63).
+ */
+final class UnoHistory {
+    /**
+     * Kinds of recorded changes; the meaning of the delta fields is given per kind.
+     * Cards are pool indices ({@link UnoModel.Card#getIndex()}) or {@link #NO_CARD},
+     * colours are ordinal + 1, or 0 for no colour.
+     */
+    enum Kind {
+        /** player played card a, held at hand position {@code value >>> 3}, onto top card b with wild colour {@code value & 7}. */
+        PLAY,
+        /** player drew card a. */
+        DRAW,
+        /** Direction was flipped. */
+        REVERSE,
+        /** Turn moved from seat player to seat a. */
+        TURN,
+        /** Wild colour changed from colour a to colour b. */
+        COLOUR,
+        /** Top card was set to card a, replacing top card b with wild colour value. */
+        TOP,
+        /** player's cumulative score grew by value. */
+        SCORE,
+        /** Hands, turn, top card and scores were replaced (new round or restored state); the payload holds the states before and after. */
+        STATE
+    }
+
+    /** Code of a missing card (no top card yet). */
+    static final int NO_CARD = 0xFF;
+
+    private static final Kind[] KINDS = Kind.values();
+    private static final long STEP_END = 1L << 4;
+
+    private final long[] deltas;
+    /** Snapshots of STATE deltas, at the same positions; null for every other kind. */
+    private final UnoState[][] payloads;
+    private final int mask;
+
+    /** Sequence numbers: first kept delta, end of the applied deltas, end of the redo deltas. */
+    private long start;
+    private long end;
+    private long limit;
+    /** Sequence number of the first delta of the unfinished step. */
+    private long stepStart;
+    /** True while deltas of an unfinished step are being recorded. */
+    private boolean stepOpen;
+    /** Ring position of the delta last returned by {@link #previous()} or {@link #next()}. */
+    private int last;
+
+    /**
+     * Creates an empty log.
+     * @param capacity deltas kept (rounded up to a power of two, at least 16)
+     */
+    UnoHistory(int capacity) {
+        int size = Math.max(16, Integer.highestOneBit(capacity - 1) << 1);
+        deltas = new long[size];
+        payloads = new UnoState[size][];
+        mask = size - 1;
+    }
+
+    /** @return packed delta */
+    static long change(Kind kind, int player, int a, int b, int value) {
+        return kind.ordinal() | (long) player << 8 | (long) a << 16 | (long) b << 24 | (long) value << 32;
+    }
+
+    static Kind kind(long change) {
+        return KINDS[(int) change & 0xF];
+    }
+
+    static int player(long change) {
+        return (int) (change >>> 8) & 0xFF;
+    }
+
+    static int a(long change) {
+        return (int) (change >>> 16) & 0xFF;
+    }
+
+    static int b(long change) {
+        return (int) (change >>> 24) & 0xFF;
+    }
+
+    static int value(long change) {
+        return (int) (change >> 32);
+    }
+
+    /**
+     * Appends a delta to the current step, discarding any redo steps.
+     * @param change packed delta
+     * @param payload states before and after a STATE delta, otherwise null
+     * @throws IllegalStateException if the unfinished step already fills the log (see {@link #isStepFull()})
+     */
+    void record(long change, UnoState[] payload) {
+        discardRedo();
+        if (!stepOpen) {
+            stepStart = end;
+            stepOpen = true;
+        }
+        if (end - start == deltas.length) {
+            if (start == stepStart) {
+                throw new IllegalStateException("Undo step larger than the log; collapse it first");
+            }
+            dropOldestStep();
+        }
+        int i = (int) end & mask;
+        deltas[i] = change;
+        payloads[i] = payload;
+        end++;
+        limit = end;
+    }
+
+    /** Forgets the undone steps, releasing their snapshots. */
+    private void discardRedo() {
+        for (long seq = end; seq < limit; seq++) {
+            payloads[(int) seq & mask] = null;
+        }
+        limit = end;
+    }
+
+    /** Frees room by forgetting the oldest complete step. */
+    private void dropOldestStep() {
+        while (start < stepStart) {
+            int i = (int) start++ & mask;
+            payloads[i] = null;
+            if ((deltas[i] & STEP_END) != 0) {
+                return;
+            }
+        }
+    }
+
+    /** @return true if the unfinished step fills the whole log, so its next delta cannot be recorded */
+    boolean isStepFull() {
+        return stepOpen && start == stepStart && end - start == deltas.length;
+    }
+
+    /** @return number of deltas of the unfinished step, newest first through {@link #previous()} */
+    int stepSize() {
+        return stepOpen ? (int) (end - stepStart) : 0;
+    }
+
+    /** Forgets the deltas of the unfinished step, which stays open for the deltas replacing them. */
+    void discardStep() {
+        end = stepStart;
+        discardRedo();
+    }
+
+    /** Closes the current step, if any deltas were recorded since the last one. */
+    void endStep() {
+        if (!stepOpen) {
+            return;
+        }
+        stepOpen = false;
+        if (end > stepStart) {
+            deltas[(int) (end - 1) & mask] |= STEP_END;
+        }
+    }
+
+    /** @return true if a complete step can be undone */
+    boolean canUndo() {
+        return !stepOpen && end > start;
+    }
+
+    /** @return true if an undone step can be redone */
+    boolean canRedo() {
+        return !stepOpen && limit > end;
+    }
+
+    /** @return number of deltas of the step to undo, newest first through {@link #previous()} */
+    int undoCount() {
+        int count = 1;
+        while (end - count > start && (deltas[(int) (end - count - 1) & mask] & STEP_END) == 0) {
+            count++;
+        }
+        return count;
+    }
+
+    /** @return number of deltas of the step to redo, oldest first through {@link #next()} */
+    int redoCount() {
+        int count = 1;
+        while ((deltas[(int) (end + count - 1) & mask] & STEP_END) == 0) {
+            count++;
+        }
+        return count;
+    }
+
+    /** Steps back over the newest applied delta. */
+    long previous() {
+        last = (int) --end & mask;
+        return deltas[last];
+    }
+
+    /** Steps forward over the oldest undone delta. */
+    long next() {
+        last = (int) end++ & mask;
+        return deltas[last];
+    }
+
+    /** @return payload of the delta last returned by {@link #previous()} or {@link #next()} */
+    UnoState[] payload() {
+        return payloads[last];
+    }
+
+    /** Forgets every step. */
+    void clear() {
+        start = end = limit = stepStart = 0;
+        stepOpen = false;
+        Arrays.fill(payloads, null);
+    }
+}
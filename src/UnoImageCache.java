@@ -0,0 +1,257 @@
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bounded LRU cache of decoded and scaled card images.
+ * <p>
+ * Images are keyed by (file name or card face, width, height). A miss decodes
+ * the file, or takes the face from the {@link UnoCardAtlas} when one is set and its faces are
+ * large enough, and scales it; a hit returns the shared {@link ImageIcon} without touching the disk.
+ * When the cache is full, the least recently used image is evicted.
+ * Hit and miss counters make the cache's effectiveness visible.
+ * </p>
+ * The cache is thread-safe, so one cache can be shared by the EDT and by
+ * offscreen renderers on other threads. Images are loaded and scaled outside
+ * the lock; if two threads miss on the same key at once, the first image stored
+ * wins. {@link #prewarm(int, int)} does its decoding on worker threads and
+ * publishes the results to the cache on the EDT.
+ */
+public class UnoImageCache {
+    /** Standard card button width in the hand panel. */
+    public static final int CARD_WIDTH = 150;
+
+    /** Standard card button height in the hand panel. */
+    public static final int CARD_HEIGHT = 250;
+
+    /** Cache key: image file (null for card faces) or card hand slot, and target size. */
+    private record Key(String file, int slot, int width, int height) {
+    }
+
+    /** Packed card faces, or null to load each card from its own file. */
+    private volatile UnoCardAtlas atlas;
+
+    /** Access-ordered map, so iteration starts at the least recently used entry (guarded by itself). */
+    private final LinkedHashMap<Key, ImageIcon> images;
+
+    /** Number of lookups served from the cache (guarded by images). */
+    private long hits;
+
+    /** Number of lookups that had to load and scale an image (guarded by images). */
+    private long misses;
+
+    /**
+     * Creates a cache holding at most the given number of images.
+     * @param capacity maximum number of cached images
+     */
+    public UnoImageCache(int capacity) {
+        images = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, ImageIcon> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns the image file scaled to the given size, loading it on a miss.
+     * @param file filename/path of the image
+     * @param width target width
+     * @param height target height
+     * @return the scaled image
+     */
+    public ImageIcon get(String file, int width, int height) {
+        Key key = new Key(file, -1, width, height);
+        ImageIcon icon = lookup(key);
+        return icon != null ? icon : store(key, load(file, width, height));
+    }
+
+    /**
+     * Returns a card's face scaled to the given size, taking it from the atlas
+     * (or loading the card's file) on a miss.
+     * @param card the card; recoloured wilds share the face of their colourless wild
+     * @param width target width
+     * @param height target height
+     * @return the scaled card image
+     */
+    public ImageIcon get(UnoModel.Card card, int width, int height) {
+        Key key = new Key(null, card.getHandSlot(), width, height);
+        ImageIcon icon = lookup(key);
+        if (icon != null) {
+            return icon;
+        }
+        UnoCardAtlas faces = atlas;
+        if (faces == null || width <= 0 || height <= 0 || !faces.covers(width, height)) {
+            // No atlas, or a size above the packed faces: scale the full-resolution file
+            icon = load(card.getFileName(), width, height);
+        } else {
+            icon = new ImageIcon(scale(faces.face(card), width, height));
+        }
+        return store(key, icon);
+    }
+
+    /**
+     * Looks up a cached image and counts the hit or miss.
+     * @param key image key
+     * @return the cached image, or null on a miss
+     */
+    private ImageIcon lookup(Key key) {
+        synchronized (images) {
+            ImageIcon icon = images.get(key);
+            if (icon != null) {
+                hits++;
+            } else {
+                misses++;
+            }
+            return icon;
+        }
+    }
+
+    /**
+     * Caches a loaded image unless another thread stored one for the key first.
+     * @param key image key
+     * @param icon the loaded image
+     * @return the image now cached for the key
+     */
+    private ImageIcon store(Key key, ImageIcon icon) {
+        synchronized (images) {
+            ImageIcon previous = images.putIfAbsent(key, icon);
+            return previous != null ? previous : icon;
+        }
+    }
+
+    /**
+     * Decodes and scales all card faces at the given size on background worker
+     * threads, one task per face, while the EDT stays free (e.g. for setup dialogs).
+     * The atlas and every finished image are handed to the cache on the EDT via
+     * {@link SwingUtilities#invokeLater(Runnable)}; a face requested before it
+     * arrives is simply loaded on demand. Call on the EDT.
+     * @param width target width
+     * @param height target height
+     * @return future completing on the EDT once every face is in the cache
+     */
+    public CompletableFuture<Void> prewarm(int width, int height) {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        ExecutorService workers = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "uno-image-prewarm");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        CompletableFuture<UnoCardAtlas> atlasLoaded = CompletableFuture.supplyAsync(UnoCardAtlas::loadDefault, workers);
+        CompletableFuture<?>[] faces = new CompletableFuture<?>[UnoModel.Card.HAND_SLOTS + 1];
+        faces[0] = atlasLoaded.thenAcceptAsync(this::setAtlas, SwingUtilities::invokeLater);
+        for (int slot = 0; slot < UnoModel.Card.HAND_SLOTS; slot++) {
+            UnoModel.Card card = UnoModel.Card.ofIndex(slot);
+            faces[slot + 1] = atlasLoaded
+                    .thenApplyAsync(atlas -> atlas == null || !atlas.covers(width, height) ? load(card.getFileName(), width, height)
+                            : new ImageIcon(scale(atlas.face(card), width, height)), workers)
+                    .thenAcceptAsync(icon -> store(new Key(null, card.getHandSlot(), width, height), icon),
+                            SwingUtilities::invokeLater);
+        }
+        return CompletableFuture.allOf(faces).whenComplete((done, error) -> workers.shutdown());
+    }
+
+    /**
+     * Serves card faces from the given atlas instead of the individual files.
+     * @param atlas packed card faces, or null to use the files
+     */
+    public void setAtlas(UnoCardAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    /**
+     * Loads every card face (all colours and values plus the two wilds)
+     * at the given size, so later lookups at that size never hit the disk.
+     * @param width target width
+     * @param height target height
+     */
+    public void preload(int width, int height) {
+        for (int slot = 0; slot < UnoModel.Card.HAND_SLOTS; slot++) {
+            get(UnoModel.Card.ofIndex(slot), width, height);
+        }
+    }
+
+    /**
+     * Decodes and scales an image file. Large reductions are done in halving
+     * steps with bilinear filtering, which gives smooth results comparable to
+     * {@link Image#SCALE_SMOOTH} at a fraction of the cost.
+     * @param file filename/path of the image
+     * @param width target width
+     * @param height target height
+     * @return the scaled image (empty if the file cannot be read)
+     */
+    private static ImageIcon load(String file, int width, int height) {
+        BufferedImage image;
+        try {
+            image = ImageIO.read(new File(file));
+        } catch (IOException e) {
+            image = null;
+        }
+        if (image == null || width <= 0 || height <= 0) {
+            return new ImageIcon();
+        }
+        return new ImageIcon(scale(image, width, height));
+    }
+
+    /**
+     * Scales an image to the given size.
+     * @param image decoded source image
+     * @param width target width (positive)
+     * @param height target height (positive)
+     * @return the scaled image
+     */
+    static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage current = image;
+        int w = image.getWidth();
+        int h = image.getHeight();
+        do {
+            w = Math.max(width, w / 2);
+            h = Math.max(height, h / 2);
+            BufferedImage step = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, w, h, null);
+            g.dispose();
+            current = step;
+        } while (w != width || h != height);
+        return current;
+    }
+
+    /** @return number of lookups served from the cache */
+    public long getHits() {
+        synchronized (images) {
+            return hits;
+        }
+    }
+
+    /** @return number of lookups that loaded an image */
+    public long getMisses() {
+        synchronized (images) {
+            return misses;
+        }
+    }
+
+    /** @return number of images currently cached */
+    public int size() {
+        synchronized (images) {
+            return images.size();
+        }
+    }
+
+    @Override
+    public String toString() {
+        synchronized (images) {
+            return "UnoImageCache[size=" + images.size() + ", hits=" + hits + ", misses=" + misses + "]";
+        }
+    }
+}
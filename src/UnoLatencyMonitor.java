@@ -0,0 +1,454 @@
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.swing.*;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Measures how long a user action takes to reach the screen.
+ * <p>
+ * One action is traced at a time, from the click ({@link #begin()}) to the end
+ * of the first Swing paint after the view has been updated for it. The time is
+ * split into phases:
+ * </p>
+ * <ul>
+ *     <li>MODEL - controller and model work, excluding view updates and dialogs</li>
+ *     <li>LAYOUT - view updates (via {@link #timed(UnoView)}) and Swing validation</li>
+ *     <li>PAINT - Swing painting of the dirty regions</li>
+ *     <li>TOTAL - click to painted, including time spent queued between phases</li>
+ * </ul>
+ * Each action type and phase has its own log-linear histogram (about 12% bucket
+ * resolution). Results are available through JMX ({@link UnoLatencyMonitorMXBean})
+ * and can be written periodically to a dump file. Validation and painting are
+ * timed by a {@link RepaintManager} installed with {@link #installRepaintManager()}.
+ * All methods are thread-safe.
+ */
+public class UnoLatencyMonitor implements UnoLatencyMonitorMXBean {
+    /** JMX name the monitor is registered under. */
+    public static final String OBJECT_NAME = "uno:type=LatencyMonitor";
+
+    /** Type of user action being measured. */
+    public enum Action {
+        /** Playing a number card. */
+        PLAY,
+        DRAW,
+        NEXT_PLAYER,
+        DRAW_ONE,
+        REVERSE,
+        SKIP,
+        WILD,
+        WILD_DRAW_TWO;
+
+        /**
+         * Returns the action type of playing a card with the given value.
+         * @param value card value played
+         * @return PLAY for number cards, otherwise the card effect
+         */
+        public static Action of(UnoModel.Values value) {
+            return switch (value) {
+                case DRAW_ONE -> DRAW_ONE;
+                case REVERSE -> REVERSE;
+                case SKIP -> SKIP;
+                case WILD -> WILD;
+                case WILD_DRAW_TWO -> WILD_DRAW_TWO;
+                default -> PLAY;
+            };
+        }
+    }
+
+    /** Phase of an action's latency. */
+    public enum Phase { MODEL, LAYOUT, PAINT, TOTAL }
+
+    /** State of the traced action. */
+    private enum TraceState { IDLE, STARTED, MODEL_DONE }
+
+    /** Histograms indexed by action ordinal, then phase ordinal. */
+    private final Histogram[][] histograms = new Histogram[Action.values().length][Phase.values().length];
+
+    private TraceState state = TraceState.IDLE;
+    private Action action;
+    private long startNanos;
+    private long modelNanos;
+    private long layoutNanos;
+    private long paintNanos;
+    /** True once the view has been updated for the traced action. */
+    private boolean viewApplied;
+    private long recordedActions;
+
+    /** File written by {@link #dump()}, or null. */
+    private volatile Path dumpFile;
+    private ScheduledExecutorService dumper;
+
+    /** Creates a monitor with empty histograms. */
+    public UnoLatencyMonitor() {
+        for (Histogram[] phases : histograms) {
+            for (int p = 0; p < phases.length; p++) {
+                phases[p] = new Histogram();
+            }
+        }
+    }
+
+    // ---------------- Tracing ----------------
+
+    /** Starts tracing a user action now, replacing any unfinished trace. */
+    public synchronized void begin() {
+        state = TraceState.STARTED;
+        startNanos = System.nanoTime();
+        layoutNanos = 0;
+        paintNanos = 0;
+        viewApplied = false;
+    }
+
+    /** Restarts the clock of the traced action, e.g. after waiting for a dialog. */
+    public synchronized void restart() {
+        if (state == TraceState.STARTED) {
+            startNanos = System.nanoTime();
+            layoutNanos = 0;
+        }
+    }
+
+    /** Stops tracing the current action without recording it (e.g. an invalid move). */
+    public synchronized void cancel() {
+        state = TraceState.IDLE;
+    }
+
+    /**
+     * Ends the model phase of the traced action. On the EDT, view updates made
+     * so far belong to this action; on a game thread they were left over from
+     * an earlier one, and this action's updates are still to be published.
+     * @param type what the action turned out to be
+     */
+    public synchronized void modelDone(Action type) {
+        if (state != TraceState.STARTED) {
+            return;
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        action = type;
+        state = TraceState.MODEL_DONE;
+        if (SwingUtilities.isEventDispatchThread()) {
+            modelNanos = elapsed - layoutNanos;
+            viewApplied = layoutNanos > 0;
+        } else {
+            modelNanos = elapsed;
+            layoutNanos = 0;
+            viewApplied = false;
+        }
+    }
+
+    /**
+     * Adds view-update time to the traced action.
+     * @param nanos time spent updating the view
+     */
+    public synchronized void viewUpdated(long nanos) {
+        if (state != TraceState.IDLE) {
+            layoutNanos += nanos;
+            viewApplied = true;
+        }
+    }
+
+    /**
+     * Adds Swing validation time to the traced action.
+     * @param nanos time spent validating components
+     */
+    synchronized void validated(long nanos) {
+        if (state == TraceState.MODEL_DONE) {
+            layoutNanos += nanos;
+        }
+    }
+
+    /**
+     * Adds Swing paint time to the traced action and, once its view update has
+     * been painted, records it.
+     * @param nanos time spent painting dirty regions
+     */
+    synchronized void painted(long nanos) {
+        if (state != TraceState.MODEL_DONE) {
+            return;
+        }
+        paintNanos += nanos;
+        if (viewApplied) {
+            Histogram[] phases = histograms[action.ordinal()];
+            phases[Phase.MODEL.ordinal()].record(modelNanos);
+            phases[Phase.LAYOUT.ordinal()].record(layoutNanos);
+            phases[Phase.PAINT.ordinal()].record(paintNanos);
+            phases[Phase.TOTAL.ordinal()].record(System.nanoTime() - startNanos);
+            recordedActions++;
+            state = TraceState.IDLE;
+        }
+    }
+
+    /**
+     * Wraps a view so that the time spent in each of its update methods counts
+     * towards the LAYOUT phase of the traced action.
+     * @param view the view to time
+     * @return a view forwarding to {@code view}
+     */
+    public UnoView timed(UnoView view) {
+        return new UnoView() {
+            @Override
+            public void update(UnoModel model) {
+                long start = System.nanoTime();
+                view.update(model);
+                viewUpdated(System.nanoTime() - start);
+            }
+
+            @Override
+            public void updateHandPanel(UnoModel model, UnoController controller) {
+                long start = System.nanoTime();
+                view.updateHandPanel(model, controller);
+                viewUpdated(System.nanoTime() - start);
+            }
+
+            @Override
+            public void updateStatusMessage(String msg) {
+                long start = System.nanoTime();
+                view.updateStatusMessage(msg);
+                viewUpdated(System.nanoTime() - start);
+            }
+
+            @Override
+            public void updateWinner(String winner, int score) {
+                long start = System.nanoTime();
+                view.updateWinner(winner, score);
+                viewUpdated(System.nanoTime() - start);
+            }
+        };
+    }
+
+    /** Installs a RepaintManager timing validation and painting. Call on the EDT. */
+    public void installRepaintManager() {
+        RepaintManager.setCurrentManager(new TimingRepaintManager());
+    }
+
+    /** RepaintManager reporting how long each validate and paint pass takes. */
+    private class TimingRepaintManager extends RepaintManager {
+        @Override
+        public void validateInvalidComponents() {
+            long start = System.nanoTime();
+            super.validateInvalidComponents();
+            validated(System.nanoTime() - start);
+        }
+
+        @Override
+        public void paintDirtyRegions() {
+            long start = System.nanoTime();
+            super.paintDirtyRegions();
+            painted(System.nanoTime() - start);
+        }
+    }
+
+    // ---------------- Reporting ----------------
+
+    /**
+     * Registers the monitor with the platform MBean server under {@link #OBJECT_NAME}.
+     * Failure is reported but does not stop the game.
+     */
+    public void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.err.println("Latency monitor not registered: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the report to a file now and then every {@code periodSeconds} on a
+     * daemon thread, replacing the previous contents each time.
+     * @param file the dump file
+     * @param periodSeconds seconds between dumps
+     */
+    public synchronized void startDumping(Path file, long periodSeconds) {
+        dumpFile = file;
+        if (dumper == null) {
+            dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "uno-latency-dump");
+                thread.setDaemon(true);
+                return thread;
+            });
+            dumper.scheduleAtFixedRate(this::dump, 0, periodSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    @Override
+    public void dump() {
+        Path file = dumpFile;
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.writeString(file, getReport());
+        } catch (IOException e) {
+            System.err.println("Latency dump failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized long getRecordedActions() {
+        return recordedActions;
+    }
+
+    @Override
+    public Map<String, Long> getMeanNanos() {
+        return summary(Histogram::mean);
+    }
+
+    @Override
+    public Map<String, Long> getP50Nanos() {
+        return summary(h -> h.percentile(0.50));
+    }
+
+    @Override
+    public Map<String, Long> getP99Nanos() {
+        return summary(h -> h.percentile(0.99));
+    }
+
+    @Override
+    public Map<String, Long> getMaxNanos() {
+        return summary(h -> h.max);
+    }
+
+    /**
+     * Applies a statistic to every non-empty histogram.
+     * @param statistic value to compute per histogram
+     * @return statistic keyed by {@code ACTION.PHASE}
+     */
+    private synchronized Map<String, Long> summary(ToLongFunction<Histogram> statistic) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Action a : Action.values()) {
+            for (Phase p : Phase.values()) {
+                Histogram h = histograms[a.ordinal()][p.ordinal()];
+                if (h.count > 0) {
+                    values.put(a + "." + p, statistic.applyAsLong(h));
+                }
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public synchronized String getReport() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("# UNO action-to-paint latency, ").append(LocalDateTime.now())
+                .append(", ").append(recordedActions).append(" actions (microseconds)\n");
+        sb.append(String.format("%-14s %-7s %8s %10s %10s %10s %10s %10s%n",
+                "action", "phase", "count", "mean", "p50", "p90", "p99", "max"));
+        for (Action a : Action.values()) {
+            for (Phase p : Phase.values()) {
+                Histogram h = histograms[a.ordinal()][p.ordinal()];
+                if (h.count > 0) {
+                    sb.append(String.format("%-14s %-7s %8d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                            a, p, h.count, h.mean() / 1e3, h.percentile(0.50) / 1e3,
+                            h.percentile(0.90) / 1e3, h.percentile(0.99) / 1e3, h.max / 1e3));
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public synchronized void reset() {
+        for (Histogram[] phases : histograms) {
+            for (Histogram h : phases) {
+                h.clear();
+            }
+        }
+        recordedActions = 0;
+    }
+
+    /**
+     * Log-linear histogram of non-negative nanosecond values: values below 8 get
+     * their own bucket, larger ones 8 buckets per power of two. Not thread-safe.
+     */
+    static final class Histogram {
+        /** Sub-buckets per power of two, as a power of two. */
+        private static final int SUB_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BITS;
+        static final int BUCKETS = (63 - SUB_BITS + 1) * SUB_BUCKETS;
+
+        private final long[] counts = new long[BUCKETS];
+        long count;
+        long sum;
+        long max;
+
+        /**
+         * Adds a sample; negative values count as zero.
+         * @param nanos the sample
+         */
+        void record(long nanos) {
+            long value = Math.max(0, nanos);
+            counts[bucket(value)]++;
+            count++;
+            sum += value;
+            max = Math.max(max, value);
+        }
+
+        /** @return the mean sample, or 0 if empty */
+        long mean() {
+            return count == 0 ? 0 : sum / count;
+        }
+
+        /**
+         * Returns an upper estimate of a percentile: the top of the bucket holding
+         * it, capped at the maximum sample.
+         * @param fraction percentile as a fraction in [0, 1]
+         * @return the estimate, or 0 if empty
+         */
+        long percentile(double fraction) {
+            long rank = Math.max(1, (long) Math.ceil(fraction * count));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(max, lowerBound(i + 1) - 1);
+                }
+            }
+            return max;
+        }
+
+        void clear() {
+            Arrays.fill(counts, 0);
+            count = 0;
+            sum = 0;
+            max = 0;
+        }
+
+        /**
+         * @param value non-negative sample
+         * @return its bucket index
+         */
+        static int bucket(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        /**
+         * @param bucket bucket index, up to {@link #BUCKETS}
+         * @return smallest value falling into the bucket
+         */
+        static long lowerBound(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            if (bucket >= BUCKETS) {
+                return Long.MAX_VALUE;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+            long sub = bucket % SUB_BUCKETS;
+            return (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+import java.util.Map;
+
+/**
+ * JMX management interface of {@link UnoLatencyMonitor}.
+ * <p>
+ * Map keys are {@code ACTION.PHASE} (for example {@code WILD.PAINT}) and values
+ * are nanoseconds; only action/phase pairs with at least one sample are listed.
+ * </p>
+ */
+public interface UnoLatencyMonitorMXBean {
+    /** @return number of actions measured from click to paint */
+    long getRecordedActions();
+
+    /** @return mean latency per action type and phase */
+    Map<String, Long> getMeanNanos();
+
+    /** @return median latency per action type and phase */
+    Map<String, Long> getP50Nanos();
+
+    /** @return 99th percentile latency per action type and phase */
+    Map<String, Long> getP99Nanos();
+
+    /** @return maximum latency per action type and phase */
+    Map<String, Long> getMaxNanos();
+
+    /** @return the full histogram summary as text, as written to the dump file */
+    String getReport();
+
+    /** Writes the report to the dump file now. */
+    void dump();
+
+    /** Discards all samples. */
+    void reset();
+}
@@ -0,0 +1,395 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Computer player using information-set Monte Carlo tree search (ISMCTS).
+ * <p>
+ * The player to move knows its own hand, but only the sizes of the other
+ * hands. Every search iteration therefore samples a determinization (the
+ * opponents' hands are redealt at random with their real sizes, which matches
+ * the infinite random draw pile exactly), walks a single tree of moves shared
+ * by all determinizations (single-observer ISMCTS, selecting among the moves
+ * legal in the sample with availability-counted UCB), expands one move and
+ * finishes the round with a random playout. A playout's result is 1 for the
+ * round winner and 0 for everyone else; every tree node is scored for the
+ * player who made its move.
+ * </p>
+ * <p>
+ * Moves are the 52 coloured cards, each wild with each of the four colours,
+ * and drawing. Rollouts run on {@link UnoState} copies, so an iteration copies
+ * a few arrays and applies moves without allocating. Search is root-parallel:
+ * each worker thread grows its own tree with its own random stream for the
+ * same budget (iterations or time, whichever ends first), and the root move
+ * visit counts of all trees are summed to pick the move. The number of playouts
+ * per second of the last search is reported by {@link #getPlayoutsPerSecond()}.
+ * </p>
+ * An instance keeps its worker threads and trees between decisions and must be
+ * used by one game (thread) at a time.
+ */
+public class UnoMcts implements UnoStrategy, AutoCloseable {
+    /** UCB exploration constant. */
+    public static final double EXPLORATION = 0.7;
+
+    /** Playouts longer than this many turns are scored as a draw (no winner). */
+    private static final int MAX_PLAYOUT_TURNS = 2_000;
+
+    /** Iterations between two clock checks. */
+    private static final int CLOCK_INTERVAL = 64;
+
+    /** Move ids: 0-51 coloured hand slots, 52-55 WILD and 56-59 WILD_DRAW_TWO by colour, 60 draw. */
+    private static final int FIRST_WILD_MOVE = 52;
+    private static final int DRAW_MOVE = 60;
+    private static final int MOVES = 61;
+
+    private static final UnoModel.Colours[] COLOURS = UnoModel.Colours.values();
+
+    private final long iterations;
+    private final long timeNanos;
+    private final ExecutorService workers;
+    private final Searcher[] searchers;
+
+    /** Colour to name for the wild chosen by the last search, or -1. */
+    private int chosenColour = -1;
+
+    private long lastPlayouts;
+    private long lastElapsedNanos;
+
+    /**
+     * Creates a searcher.
+     * @param threads worker threads searching in parallel
+     * @param iterations playouts per decision over all threads (0 for no limit)
+     * @param timeMillis time limit per decision in milliseconds (0 for no limit)
+     * @param seed seed of the search's random streams
+     */
+    public UnoMcts(int threads, long iterations, long timeMillis, long seed) {
+        if (iterations <= 0 && timeMillis <= 0) {
+            throw new IllegalArgumentException("An iteration or time budget is required");
+        }
+        this.iterations = iterations;
+        this.timeNanos = timeMillis * 1_000_000;
+        SplittableRandom seeds = new SplittableRandom(seed);
+        searchers = new Searcher[threads];
+        for (int t = 0; t < threads; t++) {
+            searchers[t] = new Searcher(seeds.split());
+        }
+        workers = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "uno-mcts");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public UnoModel.Card chooseCard(UnoModel model) {
+        int move = search(UnoState.of(model));
+        if (move == DRAW_MOVE) {
+            chosenColour = -1;
+            return null;
+        }
+        if (move < FIRST_WILD_MOVE) {
+            chosenColour = -1;
+            return UnoModel.Card.ofIndex(move);
+        }
+        chosenColour = (move - FIRST_WILD_MOVE) % COLOURS.length;
+        return UnoModel.Card.ofIndex(FIRST_WILD_MOVE + (move - FIRST_WILD_MOVE) / COLOURS.length);
+    }
+
+    @Override
+    public UnoModel.Colours chooseColour(UnoModel model) {
+        if (chosenColour >= 0) {
+            UnoModel.Colours colour = COLOURS[chosenColour];
+            chosenColour = -1;
+            return colour;
+        }
+        return COLOURS[UnoState.of(model).getMostHeldColour(model.getCurrPlayerIndex())];
+    }
+
+    /**
+     * Searches the current player's best move.
+     * @param root the position, seen by its current player (other hands are resampled)
+     * @return move id: a coloured hand slot, a wild move, or the draw move
+     */
+    int search(UnoState root) {
+        long start = System.nanoTime();
+        long deadline = timeNanos > 0 ? start + timeNanos : Long.MAX_VALUE;
+        long perThread = iterations > 0 ? (iterations + searchers.length - 1) / searchers.length : Long.MAX_VALUE;
+        List<Callable<Long>> tasks = new ArrayList<>(searchers.length);
+        for (Searcher searcher : searchers) {
+            tasks.add(() -> searcher.search(root, perThread, deadline));
+        }
+
+        long playouts = 0;
+        try {
+            for (Future<Long> done : workers.invokeAll(tasks)) {
+                playouts += done.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Search failed", e.getCause());
+        }
+        lastPlayouts = playouts;
+        lastElapsedNanos = System.nanoTime() - start;
+
+        // Most visited root move over all trees
+        int best = DRAW_MOVE;
+        long bestVisits = -1;
+        for (int move = 0; move < MOVES; move++) {
+            long visits = 0;
+            for (Searcher searcher : searchers) {
+                visits += searcher.rootVisits(move);
+            }
+            if (visits > bestVisits) {
+                best = move;
+                bestVisits = visits;
+            }
+        }
+        return best;
+    }
+
+    /** @return playouts run by the last search, over all threads */
+    public long getLastPlayouts() {
+        return lastPlayouts;
+    }
+
+    /** @return wall-clock duration of the last search in nanoseconds */
+    public long getLastElapsedNanos() {
+        return lastElapsedNanos;
+    }
+
+    /** @return playouts per second of the last search */
+    public double getPlayoutsPerSecond() {
+        return lastElapsedNanos == 0 ? 0 : lastPlayouts * 1e9 / lastElapsedNanos;
+    }
+
+    /** Stops the worker threads. */
+    @Override
+    public void close() {
+        workers.shutdownNow();
+    }
+
+    /**
+     * Legal moves of the current player of a state, as a mask over move ids.
+     * Drawing is always allowed.
+     */
+    private static long legalMoves(UnoState state) {
+        long playable = state.getPlayableMask();
+        long moves = playable & ((1L << FIRST_WILD_MOVE) - 1);
+        if ((playable >>> FIRST_WILD_MOVE & 1) != 0) {
+            moves |= 0xFL << FIRST_WILD_MOVE;
+        }
+        if ((playable >>> (FIRST_WILD_MOVE + 1) & 1) != 0) {
+            moves |= 0xFL << (FIRST_WILD_MOVE + COLOURS.length);
+        }
+        return moves | 1L << DRAW_MOVE;
+    }
+
+    /**
+     * Applies a move to a state.
+     * @return seat of the round winner, or -1
+     */
+    private static int apply(UnoState state, int move, SplittableRandom random) {
+        if (move == DRAW_MOVE) {
+            return state.playTurn(UnoState.DRAW, 0, random);
+        }
+        if (move < FIRST_WILD_MOVE) {
+            return state.playTurn(move, 0, random);
+        }
+        int wild = move - FIRST_WILD_MOVE;
+        return state.playTurn(FIRST_WILD_MOVE + wild / COLOURS.length, wild % COLOURS.length, random);
+    }
+
+    /** Tree node: the position reached by a move. */
+    private static final class Node {
+        final Node parent;
+        /** Seat that made the move leading here. */
+        final int player;
+        /** Children by move id, created on the first expansion. */
+        Node[] children;
+        /** Bit per move id with a child. */
+        long expanded;
+        int visits;
+        /** Number of times this node's move was legal when its parent was selected through. */
+        int availability;
+        double wins;
+
+        Node(Node parent, int player) {
+            this.parent = parent;
+            this.player = player;
+        }
+
+        Node child(int move) {
+            return children == null ? null : children[move];
+        }
+
+        Node addChild(int move, int player) {
+            if (children == null) {
+                children = new Node[MOVES];
+            }
+            Node child = new Node(this, player);
+            children[move] = child;
+            expanded |= 1L << move;
+            return child;
+        }
+    }
+
+    /** One worker's tree, scratch state and random stream. */
+    private static final class Searcher {
+        private final SplittableRandom random;
+        private UnoState scratch;
+        private Node root;
+
+        Searcher(SplittableRandom random) {
+            this.random = random;
+        }
+
+        /** @return root visits of a move in the last search */
+        long rootVisits(int move) {
+            Node child = root == null ? null : root.child(move);
+            return child == null ? 0 : child.visits;
+        }
+
+        /**
+         * Grows a new tree from the given position.
+         * @return number of playouts run
+         */
+        long search(UnoState position, long maxIterations, long deadline) {
+            if (scratch == null || scratch.getPlayerCount() != position.getPlayerCount()) {
+                scratch = new UnoState(position.getPlayerCount());
+            }
+            int observer = position.getCurrent();
+            root = new Node(null, -1);
+            long n = 0;
+            while (n < maxIterations && (n % CLOCK_INTERVAL != 0 || System.nanoTime() < deadline)) {
+                iterate(position, observer);
+                n++;
+            }
+            return n;
+        }
+
+        /** Runs one determinize-select-expand-playout-backpropagate iteration. */
+        private void iterate(UnoState position, int observer) {
+            UnoState state = scratch;
+            position.copyInto(state);
+            for (int p = 0; p < state.getPlayerCount(); p++) {
+                if (p != observer) {
+                    state.redeal(p, random);                          // Sample the hidden hands
+                }
+            }
+
+            // Selection and expansion
+            Node node = root;
+            int winner = -1;
+            while (true) {
+                long legal = legalMoves(state);
+                long untried = legal & ~node.expanded;
+                int player = state.getCurrent();
+                if (untried != 0) {
+                    int move = nthBit(untried, random.nextInt(Long.bitCount(untried)));
+                    markAvailable(node, legal & node.expanded);
+                    node = node.addChild(move, player);
+                    node.availability++;
+                    winner = apply(state, move, random);
+                    break;
+                }
+                int move = select(node, legal);
+                node = node.child(move);
+                winner = apply(state, move, random);
+                if (winner >= 0) {
+                    break;
+                }
+            }
+
+            // Playout
+            for (int turn = 0; winner < 0 && turn < MAX_PLAYOUT_TURNS; turn++) {
+                long playable = state.getPlayableMask();
+                if (playable == 0) {
+                    winner = state.playTurn(UnoState.DRAW, 0, random);
+                } else {
+                    int slot = nthBit(playable, random.nextInt(Long.bitCount(playable)));
+                    winner = state.playTurn(slot, state.getMostHeldColour(state.getCurrent()), random);
+                }
+            }
+
+            // Backpropagation
+            for (Node n = node; n != null; n = n.parent) {
+                n.visits++;
+                if (n.player == winner) {
+                    n.wins++;
+                }
+            }
+        }
+
+        /** Counts one more availability for each of the given children. */
+        private static void markAvailable(Node node, long moves) {
+            for (; moves != 0; moves &= moves - 1) {
+                node.children[Long.numberOfTrailingZeros(moves)].availability++;
+            }
+        }
+
+        /**
+         * Picks the legal child with the best UCB score (all legal children exist).
+         * @return move id
+         */
+        private static int select(Node node, long legal) {
+            markAvailable(node, legal);
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (long moves = legal; moves != 0; moves &= moves - 1) {
+                int move = Long.numberOfTrailingZeros(moves);
+                Node child = node.children[move];
+                double score = child.wins / child.visits
+                        + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+                if (score > bestScore) {
+                    best = move;
+                    bestScore = score;
+                }
+            }
+            return best;
+        }
+
+        /** @return position of the n-th (0-based) set bit of the mask */
+        private static int nthBit(long mask, int n) {
+            for (; n > 0; n--) {
+                mask &= mask - 1;
+            }
+            return Long.numberOfTrailingZeros(mask);
+        }
+    }
+
+    /**
+     * Reports playouts per second for 1 to {@code threads} threads on a fixed
+     * position, then plays 2-player matches of the search against the greedy bot.
+     * Usage: {@code UnoMcts [iterations per move] [threads] [games]}
+     */
+    public static void main(String[] args) {
+        long iterations = args.length > 0 ? Long.parseLong(args[0]) : 2_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int games = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        UnoModel position = new UnoModel(1L);
+        for (int p = 1; p <= 4; p++) {
+            position.addPlayer("Player" + p);
+        }
+        position.newRound();
+        for (int t = 1; t <= threads; t *= 2) {
+            try (UnoMcts mcts = new UnoMcts(t, iterations * t, 0, 7L)) {
+                mcts.chooseCard(position);                                  // warm-up
+                mcts.chooseCard(position);
+                System.out.printf("%d thread(s): %.0f playouts/s%n", t, mcts.getPlayoutsPerSecond());
+            }
+        }
+
+        try (UnoMcts mcts = new UnoMcts(threads, iterations, 0, 7L)) {
+            UnoSimulator.Stats stats = new UnoSimulator(mcts, new UnoBots.GreedyPoints()).run(games, 11L);
+            System.out.println("ISMCTS (Player1) vs greedy (Player2): " + stats);
+        }
+    }
+}
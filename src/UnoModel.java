@@ -1,19 +1,25 @@
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 /**
  * Core game model for a simplified UNO game (Milestone-ready).
  * <p>
  * Responsibilities:
  * - Holds game state (players, direction, current/next player).
- * - Manages deck-less random card generation for draws (stubbed RNG).
+ * - Manages deck-less random card generation for draws (stubbed RNG) from a pool of shared cards.
  * - Enforces legal-play checks (colour/value match; wilds always playable).
  * - Applies card effects (DRAW_ONE, REVERSE, SKIP, WILD, WILD_DRAW_TWO).
  * - Computes per-round score for the winner and tracks cumulative scores.
  * - Notifies registered views (observer-style hooks via {@link #addView(UnoView)}).
+ * - Optionally records reversible changes for {@link #undo()} and {@link #redo()}.
+ * - Can be saved to and loaded from a compact binary format ({@link UnoSaveFile}).
+ * - Fires typed {@link UnoEvent}s to listeners subscribed via {@link #addListener(UnoEventListener, UnoEvent.Type...)}.
  * <p>
  * Notes:
- * - This class is not thread-safe (single-threaded Swing usage assumed).
- * - Random draws use {@link java.util.Random}; no persistence of a physical deck in this version.
+ * - This class is not thread-safe (single-threaded Swing usage assumed); run one model per thread.
+ * - Random draws come from a per-model {@link RandomGenerator} (a seeded {@link UnoRandom}
+ *   by default), so a given seed always replays the same deals and draws.
+ * - No persistence of a physical deck in this version.
  */
 
 public class UnoModel {
@@ -22,6 +28,22 @@ public class UnoModel {
     /** Available card values, including action/wild cards. */
     public enum Values {ZERO, ONE, TWO, THREE, FOUR, FIVE, SIX, SEVEN, EIGHT, NINE, DRAW_ONE, REVERSE, SKIP, WILD, WILD_DRAW_TWO}
 
+    // Cached enum values (values() clones its array on every call).
+    private static final Colours[] COLOURS = Colours.values();
+    private static final Values[] VALUES = Values.values();
+    // For each possible top card (by pool index), the mask of hand slots that may be played on it.
+    private static final long[] PLAYABLE_MASKS = new long[Card.POOL_SIZE];
+
+    static {
+        for (int top = 0; top < Card.POOL_SIZE; top++) {
+            for (int slot = 0; slot < Card.HAND_SLOTS; slot++) {
+                if (isPlayable(Card.ofIndex(top), Card.ofIndex(slot))) {
+                    PLAYABLE_MASKS[top] |= 1L << slot;
+                }
+            }
+        }
+    }
+
     // Players in turn order (clockwise or counterclockwise based on 'direction').
     private List<Player> players = new ArrayList<>();
     // Index of the current player within 'players'.
@@ -30,30 +52,174 @@ public class UnoModel {
     int direction = 1;
     // The card currently on top of the discard pile (sets legal-play constraints).
     private Card topCard;
+    // Colour chosen for a wild on top of the discard pile; null if none has been chosen.
+    private Colours wildColour;
     // Cumulative (match) scores per player name.
     private Map<String, Integer> finalScores = new HashMap<>();
     // Registered views to be notified on model changes.
     private List<UnoView> views = new ArrayList<>();
+    // Nesting depth of open notification batches; views are only notified at depth 0.
+    private int batchDepth;
+    // True if a change happened inside the current batch and views still need an update.
+    private boolean pendingUpdate;
+    // Registered event listeners with the event types each one wants.
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    // Union of all subscribed event types (bit per UnoEvent.Type ordinal); no event is built otherwise.
+    private int subscribedTypes;
+    // Events fired inside the current batch, delivered in order when it closes.
+    private final List<UnoEvent> pendingEvents = new ArrayList<>();
+    // Seed of the current random source (meaningful only when seeded through this model).
+    private long seed;
+    // Source of all card draws; owned by this model, never shared between threads.
+    private RandomGenerator random;
+    // True if 'random' is the UnoRandom seeded with 'seed' (not one set through setRandom()).
+    private boolean seeded;
+    // Undo/redo log of changes; null when undo is off.
+    private UnoHistory history;
 
     /**
-     * Immutable-ish card record (mutable colour for wild recolouring).
+     * Creates a model with a randomly seeded {@link UnoRandom}.
+     */
+    public UnoModel() {
+        this(new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Creates a model whose deals and draws are fully determined by the given seed.
+     * @param seed seed for the model's {@link UnoRandom}
+     */
+    public UnoModel(long seed) {
+        reseed(seed);
+    }
+
+    /**
+     * Creates a model drawing from the given random source, e.g. one
+     * {@link SplittableRandom#split()} stream per game in a parallel run.
+     * @param random random source used for every card draw
+     */
+    public UnoModel(RandomGenerator random) {
+        this.random = Objects.requireNonNull(random);
+    }
+
+    /**
+     * Immutable card value object.
      * <p>
-     * For WILD/WILD_DRAW_TWO, colour may be null until chosen by a player.
+     * Cards are flyweights: use {@link #of(Colours, Values)} to obtain the canonical
+     * pooled instance for a colour/value pair instead of allocating a new card.
+     * Wilds in a hand have a null colour; the colour chosen when a wild is played is
+     * kept by the model (see {@link UnoModel#wild(Colours)}), never written into the card.
      */
     public static class Card {
-        private Colours colour;             // can be reassigned for wilds via wild()/wildDrawTwo()
-        private Values value;
+        /** Number of distinct cards: 4 colours x 13 coloured values, 2 wilds, 4 colours x 2 recoloured wilds. */
+        static final int POOL_SIZE = 62;
+        /** Number of distinct cards a hand can hold (indices 0-53; wilds in a hand are colourless). */
+        public static final int HAND_SLOTS = 54;
+        // Canonical instances, indexed by indexOf(colour, value).
+        private static final Card[] POOL = new Card[POOL_SIZE];
+
+        static {
+            for (Values value : Values.values()) {
+                if (value == Values.WILD || value == Values.WILD_DRAW_TWO) {
+                    POOL[indexOf(null, value)] = new Card(null, value);
+                }
+                for (Colours colour : Colours.values()) {
+                    POOL[indexOf(colour, value)] = new Card(colour, value);
+                }
+            }
+        }
+
+        private final Colours colour;
+        private final Values value;
+        private final int index;
+        private final int points;
+        private final String fileName;
 
         /**
          * Creates a card with the given colour and value.
-         * For wilds, pass null for colour.
+         * For wilds, pass null for colour. Prefer {@link #of(Colours, Values)} to reuse pooled cards.
          */
         public Card(Colours colour, Values value) {
             this.colour = colour;
             this.value = value;
+            this.index = indexOf(colour, value);
+            this.points = switch (value) {
+                case ZERO -> 0;
+                case ONE -> 1;
+                case TWO -> 2;
+                case THREE -> 3;
+                case FOUR -> 4;
+                case FIVE -> 5;
+                case SIX -> 6;
+                case SEVEN -> 7;
+                case EIGHT -> 8;
+                case NINE -> 9;
+                case DRAW_ONE -> 10;
+                case SKIP, REVERSE -> 20;
+                case WILD_DRAW_TWO -> 25;
+                case WILD -> 50;
+            };
+            if (value == Values.WILD || value == Values.WILD_DRAW_TWO) {
+                this.fileName = "images/" + value + ".png";
+            } else {
+                this.fileName = colour == null ? null : "images/" + colour + "_" + value + ".png";
+            }
+        }
+
+        /**
+         * Returns the canonical shared card for the given colour and value.
+         * @param colour card colour; null only for WILD/WILD_DRAW_TWO
+         * @param value card value
+         * @return pooled {@link Card} instance
+         * @throws IllegalArgumentException if a non-wild value is given a null colour
+         */
+        public static Card of(Colours colour, Values value) {
+            if (colour == null && value != Values.WILD && value != Values.WILD_DRAW_TWO) {
+                throw new IllegalArgumentException("Only wild cards may have no colour: " + value);
+            }
+            return POOL[indexOf(colour, value)];
+        }
+
+        /**
+         * @param index dense card index (see {@link #getIndex()})
+         * @return the pooled card with that index
+         */
+        public static Card ofIndex(int index) {
+            return POOL[index];
         }
 
-        /** @return current colour; may be null for wilds until chosen */
+        /**
+         * Dense pool index: 0-51 coloured cards, 52-53 colourless wilds, 54-61 recoloured wilds.
+         */
+        static int indexOf(Colours colour, Values value) {
+            int wild = value.ordinal() - Values.WILD.ordinal();
+            if (wild < 0) {
+                return colour.ordinal() * Values.WILD.ordinal() + value.ordinal();
+            }
+            if (colour == null) {
+                return 52 + wild;
+            }
+            return 54 + colour.ordinal() * 2 + wild;
+        }
+
+        /**
+         * @return dense index of this card: 0-51 coloured cards (colour * 13 + value),
+         * 52-53 colourless wilds, 54-61 recoloured wilds
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /** @return slot of this card in a hand (0-53); recoloured wilds map to their colourless slot */
+        public int getHandSlot() {
+            return index < HAND_SLOTS ? index : 52 + (index - HAND_SLOTS) % 2;
+        }
+
+        /** @return point value of this card when left in a losing hand */
+        public int getPoints() {
+            return points;
+        }
+
+        /** @return card colour; null for wilds held in a hand */
         public Colours getColour() { return colour; }
 
         /** @return value of the card (number/action/wild) */
@@ -61,25 +227,16 @@ public class UnoModel {
             return value;
         }
 
-        /** Assigns a new colour (used when playing a wild). */
-        public void setColour(Colours colour) {
-            this.colour = colour;
-        }
-
         /**
          * @return image file name for this card (assumes resources in /images).
          * Wilds do not include colour in the file name.
          */
         public String getFileName() {
-            if(value == Values.WILD || value == Values.WILD_DRAW_TWO) {
-                return "images/" + value.toString() + ".png";
-            }
-            return "images/" + colour.toString() + "_" + value.toString() + ".png";
+            return fileName;
         }
 
         /**
          * Logical equality: same colour and value.
-         * (Note: no hashCode override—avoid using as hash keys unless added.)
          */
         public boolean equals(Object o) {
             if(this == o) {
@@ -90,28 +247,294 @@ public class UnoModel {
             }
             return this.colour == other.colour && this.value == other.value;
         }
+
+        /** @return hash consistent with {@link #equals(Object)} */
+        public int hashCode() {
+            return 31 * Objects.hashCode(colour) + value.hashCode();
+        }
     }
 
     /**
      * Player entity: holds a name and personal hand.
+     * <p>
+     * The hand is stored compactly as a count per hand slot (see {@link Card#getHandSlot()})
+     * plus a total, so adding and removing cards is O(1) and allocation-free.
+     * A log of the slots in arrival order keeps the order the cards were added in
+     * (removing a card takes out its oldest copy) in amortized O(1) as well, and
+     * {@link #getPersonalDeck()} exposes the hand in that order as a lazily built list for the GUI.
      */
     public static class Player {
-        private final List<Card> personalDeck = new ArrayList<>();
+        // Number of copies held of each card, indexed by hand slot.
+        private final int[] counts = new int[Card.HAND_SLOTS];
+        // Total number of cards held.
+        private int handSize;
+        // Bit s is set when counts[s] > 0.
+        private long presenceMask;
+        // Sum of the point values of all cards held, kept up to date on every change.
+        private int points;
+        // Hand slots in the order the cards arrived, -1 where a card has left since; compacted when full.
+        private int[] arrivals = new int[16];
+        // Per log position, the position of the next newer copy of the same slot, or -1.
+        private int[] nextCopy = new int[16];
+        // Per slot, log position of the oldest and newest copy held (oldest is -1 if none is held).
+        private final int[] oldestCopy = new int[Card.HAND_SLOTS];
+        private final int[] newestCopy = new int[Card.HAND_SLOTS];
+        // Used length of the arrival log.
+        private int arrivalEnd;
+        private final HandView personalDeck = new HandView();
         private final String name;
 
         /** Creates a player with the given display name. */
         public Player(String name){
             this.name = name;
+            Arrays.fill(oldestCopy, -1);
         }
 
-        /** @return live list of cards held by the player */
+        /**
+         * @return live list view of the cards held by the player, in the order they
+         * were added; changes to the list update the hand
+         */
         public List<Card> getPersonalDeck() {
             return personalDeck;
         }
 
         /** Adds a single card to the player's hand. */
         public void addCard(Card c) {
-            personalDeck.add(c);
+            int slot = c.getHandSlot();
+            logArrival(slot);
+            counts[slot]++;
+            presenceMask |= 1L << slot;
+            points += c.getPoints();
+            handSize++;
+            personalDeck.changed();
+        }
+
+        /**
+         * Removes one copy of a card from the player's hand.
+         * @param c card to remove
+         * @return true if the player held the card
+         */
+        public boolean removeCard(Card c) {
+            int slot = c.getHandSlot();
+            if (counts[slot] == 0) {
+                return false;
+            }
+            int oldest = oldestCopy[slot];
+            arrivals[oldest] = -1;
+            oldestCopy[slot] = nextCopy[oldest];
+            uncount(slot);
+            return true;
+        }
+
+        /**
+         * Removes the card at a position of {@link #getPersonalDeck()}, which may be
+         * any copy of its card, in time proportional to the hand size.
+         * @param index position in arrival order
+         * @return the removed card
+         */
+        Card removeCardAt(int index) {
+            Objects.checkIndex(index, handSize);
+            int position = -1;
+            for (int live = -1; live < index; ) {
+                if (arrivals[++position] >= 0) {
+                    live++;
+                }
+            }
+            int slot = arrivals[position];
+            unlink(slot, position);
+            uncount(slot);
+            return Card.ofIndex(slot);
+        }
+
+        /**
+         * Removes the most recently added copy of a card, taking back an {@link #addCard(Card)}.
+         * @param c card to remove
+         */
+        void removeNewestCard(Card c) {
+            int slot = c.getHandSlot();
+            if (counts[slot] > 0) {
+                unlink(slot, newestCopy[slot]);
+                uncount(slot);
+            }
+        }
+
+        /**
+         * Inserts a card at a position of {@link #getPersonalDeck()}, rewriting the
+         * arrival log, so in time proportional to the hand size.
+         * @param index position in arrival order, up to the hand size
+         * @param c card to insert
+         */
+        void insertCard(int index, Card c) {
+            Objects.checkIndex(index, handSize + 1);
+            int slot = c.getHandSlot();
+            int[] log = Arrays.copyOf(arrivals, arrivalEnd);
+            if (handSize == arrivals.length) {
+                arrivals = new int[arrivals.length * 2];
+                nextCopy = new int[arrivals.length];
+            }
+            Arrays.fill(oldestCopy, -1);
+            arrivalEnd = 0;
+            int live = 0;
+            for (int held : log) {
+                if (held >= 0) {
+                    if (live++ == index) {
+                        logArrival(slot);
+                    }
+                    logArrival(held);
+                }
+            }
+            if (index == handSize) {
+                logArrival(slot);
+            }
+            counts[slot]++;
+            presenceMask |= 1L << slot;
+            points += c.getPoints();
+            handSize++;
+            personalDeck.changed();
+        }
+
+        /**
+         * @param c a card
+         * @return position of the oldest copy of the card in {@link #getPersonalDeck()}, or -1 if none is held
+         */
+        int indexOfCard(Card c) {
+            int slot = c.getHandSlot();
+            if (counts[slot] == 0) {
+                return -1;
+            }
+            int index = 0;
+            for (int position = 0; position < oldestCopy[slot]; position++) {
+                if (arrivals[position] >= 0) {
+                    index++;
+                }
+            }
+            return index;
+        }
+
+        /** Takes a held copy of a slot out of the arrival log and of its chain of copies. */
+        private void unlink(int slot, int position) {
+            int previous = -1;
+            for (int p = oldestCopy[slot]; p != position; p = nextCopy[p]) {
+                previous = p;
+            }
+            if (previous < 0) {
+                oldestCopy[slot] = nextCopy[position];
+            } else {
+                nextCopy[previous] = nextCopy[position];
+            }
+            if (newestCopy[slot] == position) {
+                newestCopy[slot] = previous;
+            }
+            arrivals[position] = -1;
+        }
+
+        /** Updates the counters for one card of a slot leaving the hand. */
+        private void uncount(int slot) {
+            if (--counts[slot] == 0) {
+                presenceMask &= ~(1L << slot);
+            }
+            points -= Card.ofIndex(slot).getPoints();
+            handSize--;
+            personalDeck.changed();
+        }
+
+        /** Removes every card from the player's hand. */
+        public void clearHand() {
+            Arrays.fill(counts, 0);
+            Arrays.fill(oldestCopy, -1);
+            arrivalEnd = 0;
+            presenceMask = 0;
+            points = 0;
+            handSize = 0;
+            personalDeck.changed();
+        }
+
+        /**
+         * Replaces the hand with the given per-slot counts in one pass.
+         * @param source card counts, {@link Card#HAND_SLOTS} of them starting at {@code from}
+         * @param from index of the count for slot 0
+         */
+        void setHand(int[] source, int from) {
+            System.arraycopy(source, from, counts, 0, Card.HAND_SLOTS);
+            presenceMask = 0;
+            points = 0;
+            handSize = 0;
+            for (int slot = 0; slot < Card.HAND_SLOTS; slot++) {
+                int count = counts[slot];
+                if (count != 0) {
+                    presenceMask |= 1L << slot;
+                    points += count * Card.ofIndex(slot).getPoints();
+                    handSize += count;
+                }
+            }
+            Arrays.fill(oldestCopy, -1);                    // No order is known: log the cards by slot
+            arrivalEnd = 0;
+            for (int slot = 0; slot < Card.HAND_SLOTS; slot++) {
+                for (int k = counts[slot]; k > 0; k--) {
+                    logArrival(slot);
+                }
+            }
+            personalDeck.changed();
+        }
+
+        /**
+         * Appends a newly held card to the arrival log, compacting (or growing)
+         * the log when it is full.
+         * @param slot hand slot of the card
+         */
+        private void logArrival(int slot) {
+            if (arrivalEnd == arrivals.length) {
+                compactArrivals();
+            }
+            int position = arrivalEnd++;
+            arrivals[position] = slot;
+            nextCopy[position] = -1;
+            if (oldestCopy[slot] < 0) {
+                oldestCopy[slot] = position;
+            } else {
+                nextCopy[newestCopy[slot]] = position;
+            }
+            newestCopy[slot] = position;
+        }
+
+        /** Drops the removed entries from the arrival log, doubling it if it is still more than half full. */
+        private void compactArrivals() {
+            int[] log = arrivals;
+            int end = arrivalEnd;
+            if (handSize * 2 > log.length) {
+                arrivals = new int[log.length * 2];
+                nextCopy = new int[log.length * 2];
+            }
+            Arrays.fill(oldestCopy, -1);
+            arrivalEnd = 0;
+            for (int position = 0; position < end; position++) {
+                if (log[position] >= 0) {
+                    logArrival(log[position]);                // Never writes past the entry being read
+                }
+            }
+        }
+
+        /**
+         * @param slot hand slot (0-53)
+         * @return number of copies of that card held
+         */
+        public int getCount(int slot) {
+            return counts[slot];
+        }
+
+        /** @return bit mask of the hand slots holding at least one card */
+        public long getPresenceMask() {
+            return presenceMask;
+        }
+
+        /** @return total point value of the cards held */
+        public int getPoints() {
+            return points;
+        }
+
+        /** @return number of cards held */
+        public int getHandSize() {
+            return handSize;
         }
 
         /** @return player display name */
@@ -119,26 +542,93 @@ public class UnoModel {
             return name;
         }
 
+        /**
+         * List adapter over the hand. The ordered card array is rebuilt from the
+         * arrival log only when read after a change, reusing its storage when it fits.
+         */
+        private class HandView extends AbstractList<Card> {
+            private Card[] cards = new Card[16];
+            private boolean stale = true;
+
+            void changed() {
+                modCount++;
+                stale = true;
+            }
+
+            private Card[] cards() {
+                if (stale) {
+                    if (cards.length < handSize) {
+                        cards = new Card[Math.max(handSize, cards.length * 2)];
+                    }
+                    int n = 0;
+                    for (int position = 0; position < arrivalEnd; position++) {
+                        if (arrivals[position] >= 0) {
+                            cards[n++] = Card.ofIndex(arrivals[position]);
+                        }
+                    }
+                    stale = false;
+                }
+                return cards;
+            }
+
+            @Override
+            public Card get(int index) {
+                Objects.checkIndex(index, handSize);
+                return cards()[index];
+            }
+
+            @Override
+            public int size() {
+                return handSize;
+            }
+
+            @Override
+            public boolean add(Card card) {
+                addCard(card);
+                return true;
+            }
+
+            @Override
+            public Card remove(int index) {
+                return removeCardAt(index);
+            }
+
+            @Override
+            public void add(int index, Card card) {
+                insertCard(index, card);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                return o instanceof Card card && removeCard(card);
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return o instanceof Card card && counts[card.getHandSlot()] > 0;
+            }
+
+            @Override
+            public void clear() {
+                clearHand();
+            }
+        }
     }
 
     /**
      * Generates a random card. In this milestone, there is no physical deck;
      * draws are random and infinite.
-     * @return a pseudo-random {@link Card}
+     * @return a pseudo-random pooled {@link Card}
      */
     public Card getRandomCard() {
-        Random rand = new Random();
-
-        Values[] values = Values.values();
-        Values value = values[rand.nextInt(values.length)];
+        Values value = VALUES[random.nextInt(VALUES.length)];
 
         Colours colour = null;
         // Wilds have no colour until set; all other cards need a colour.
         if (value != Values.WILD && value != Values.WILD_DRAW_TWO) {
-            Colours[] colours = Colours.values();
-            colour = colours[rand.nextInt(colours.length)];
+            colour = COLOURS[random.nextInt(COLOURS.length)];
         }
-        return new Card(colour, value);
+        return Card.of(colour, value);
     }
 
     /**
@@ -147,8 +637,16 @@ public class UnoModel {
      * @param card the card to play
      */
     public void playCard(Card card) {
-        getCurrPlayer().getPersonalDeck().remove(card);
+        if (getCurrPlayer().getCount(card.getHandSlot()) > 0) {
+            int position = history != null ? getCurrPlayer().indexOfCard(card) : 0;
+            record(UnoHistory.Kind.PLAY, currPlayerIndex, card.getIndex(), cardCode(topCard), colourCode(wildColour) | position << 3);
+        } else {
+            record(UnoHistory.Kind.TOP, 0, card.getIndex(), cardCode(topCard), colourCode(wildColour));
+        }
+        getCurrPlayer().removeCard(card);
         topCard = card;
+        wildColour = null;
+        fireEvent(UnoEvent.Type.CARD_PLAYED, currPlayerIndex, card, null, -1);
         notifyViews();
     }
 
@@ -157,7 +655,10 @@ public class UnoModel {
      */
     public void drawCard() {
         Player currPlayer = getCurrPlayer();
-        currPlayer.addCard(getRandomCard());
+        Card drawnCard = getRandomCard();
+        record(UnoHistory.Kind.DRAW, currPlayerIndex, drawnCard.getIndex(), 0, 0);
+        currPlayer.addCard(drawnCard);
+        fireEvent(UnoEvent.Type.CARDS_DRAWN, currPlayerIndex, drawnCard, null, 1);
         notifyViews();
     }
 
@@ -169,7 +670,9 @@ public class UnoModel {
         Card drawnCard = getRandomCard();
         int nextPlayerIndex = (currPlayerIndex + 1) % players.size();
         Player nextPlayer = players.get(nextPlayerIndex);
+        record(UnoHistory.Kind.DRAW, nextPlayerIndex, drawnCard.getIndex(), 0, 0);
         nextPlayer.addCard(drawnCard);
+        fireEvent(UnoEvent.Type.CARDS_DRAWN, nextPlayerIndex, drawnCard, null, 1);
         notifyViews();
         return drawnCard;
     }
@@ -178,7 +681,9 @@ public class UnoModel {
      * Reverses play direction (clockwise ↔ counterclockwise).
      */
     public void reverse() {
+        record(UnoHistory.Kind.REVERSE, 0, 0, 0, 0);
         direction = -direction;
+        fireEvent(UnoEvent.Type.DIRECTION_REVERSED, -1, null, null, direction);
         notifyViews();
     }
 
@@ -186,7 +691,10 @@ public class UnoModel {
      * Skips the next player's turn by advancing two steps in current direction.
      */
     public void skip() {
+        int previous = currPlayerIndex;
         currPlayerIndex = (currPlayerIndex + 2 * direction + players.size()) % players.size();
+        record(UnoHistory.Kind.TURN, previous, currPlayerIndex, 0, 0);
+        fireEvent(UnoEvent.Type.TURN_ADVANCED, currPlayerIndex, null, null, -1);
         notifyViews();
     }
 
@@ -195,32 +703,45 @@ public class UnoModel {
      * @param newColour chosen colour (cannot be null)
      */
     public void wild(Colours newColour) {
-        topCard.setColour(newColour);
+        record(UnoHistory.Kind.COLOUR, 0, colourCode(wildColour), colourCode(newColour), 0);
+        wildColour = newColour;
+        fireEvent(UnoEvent.Type.COLOUR_CHOSEN, currPlayerIndex, null, newColour, -1);
         notifyViews();
     }
 
     /**
      * Wild Draw Two: set colour and make next player draw 2, then skip them.
+     * Views receive a single update for the whole action.
      * @param newColour chosen colour for the wild
      * @return list containing the two drawn cards
      */
     public List<Card> wildDrawTwo(Colours newColour) {
-        topCard.setColour(newColour);
-        Card drawnCard1 = getRandomCard();
-        Card drawnCard2 = getRandomCard();
-        int nextPlayerIndex = (currPlayerIndex + direction + players.size()) % players.size();
-        Player nextPlayer = players.get(nextPlayerIndex);
-        nextPlayer.addCard(drawnCard1);
-        nextPlayer.addCard(drawnCard2);
-        notifyViews();
+        beginBatch();
+        try {
+            record(UnoHistory.Kind.COLOUR, 0, colourCode(wildColour), colourCode(newColour), 0);
+            wildColour = newColour;
+            fireEvent(UnoEvent.Type.COLOUR_CHOSEN, currPlayerIndex, null, newColour, -1);
+            Card drawnCard1 = getRandomCard();
+            Card drawnCard2 = getRandomCard();
+            int nextPlayerIndex = (currPlayerIndex + direction + players.size()) % players.size();
+            Player nextPlayer = players.get(nextPlayerIndex);
+            record(UnoHistory.Kind.DRAW, nextPlayerIndex, drawnCard1.getIndex(), 0, 0);
+            record(UnoHistory.Kind.DRAW, nextPlayerIndex, drawnCard2.getIndex(), 0, 0);
+            nextPlayer.addCard(drawnCard1);
+            nextPlayer.addCard(drawnCard2);
+            fireEvent(UnoEvent.Type.CARDS_DRAWN, nextPlayerIndex, drawnCard2, null, 2);
+            notifyViews();
 
-        List<Card> drawnCards = new ArrayList<>();
-        drawnCards.add(drawnCard1);
-        drawnCards.add(drawnCard2);
+            List<Card> drawnCards = new ArrayList<>();
+            drawnCards.add(drawnCard1);
+            drawnCards.add(drawnCard2);
 
-        skip();
+            skip();
 
-        return drawnCards;
+            return drawnCards;
+        } finally {
+            endBatch();
+        }
     }
 
     /**
@@ -230,8 +751,9 @@ public class UnoModel {
      * - Resets current player and direction.
      */
     public void newRound() {
+        UnoState before = stateBeforeChange();
         for(Player player: players) {
-            player.getPersonalDeck().clear();
+            player.clearHand();
             for(int i = 0; i < 7; i++) {
                 player.addCard(getRandomCard());
             }
@@ -239,15 +761,19 @@ public class UnoModel {
         do {
             topCard = getRandomCard();
         }while (topCard.getValue() == Values.WILD || topCard.getValue() == Values.WILD_DRAW_TWO);
+        wildColour = null;
 
         currPlayerIndex = 0;
         direction = 1;
+        recordState(before);
+        fireEvent(UnoEvent.Type.ROUND_STARTED, currPlayerIndex, topCard, null, -1);
         notifyViews();
     }
 
     /**
      * Computes the round score earned by the winner:
      * Sum of point values of all other players' remaining cards.
+     * Uses each player's running point total, so this is O(players).
      * @param winner player who emptied their hand
      * @return numeric score for this round
      */
@@ -257,27 +783,7 @@ public class UnoModel {
             if (player == winner){
                 continue;
             }
-            List<Card> deck = player.getPersonalDeck();
-            for (int i = 0; i < deck.size(); i++ ) {
-                Card card = deck.get(i);
-
-                switch(card.getValue()) {
-                    case ZERO -> score += 0;
-                    case ONE -> score +=1;
-                    case TWO -> score += 2;
-                    case THREE -> score += 3;
-                    case FOUR -> score += 4;
-                    case FIVE -> score +=5;
-                    case SIX -> score += 6;
-                    case SEVEN -> score += 7;
-                    case EIGHT -> score +=8;
-                    case NINE -> score += 9;
-                    case DRAW_ONE -> score += 10;
-                    case SKIP, REVERSE -> score += 20;
-                    case WILD_DRAW_TWO -> score += 25;
-                    case  WILD -> score += 50;
-                }
-            }
+            score += player.getPoints();
         }
         return score;
     }
@@ -286,7 +792,10 @@ public class UnoModel {
      * Advances to the next player's turn using current direction.
      */
     public void advance() {
+        int previous = currPlayerIndex;
         currPlayerIndex = (currPlayerIndex + direction + players.size()) % players.size();
+        record(UnoHistory.Kind.TURN, previous, currPlayerIndex, 0, 0);
+        fireEvent(UnoEvent.Type.TURN_ADVANCED, currPlayerIndex, null, null, -1);
         notifyViews();
     }
 
@@ -297,7 +806,11 @@ public class UnoModel {
      */
     public boolean checkWinner(Player winner) {
         int winnerScore = getScore(winner);
-        finalScores.put(winner.getName(), finalScores.get(winner.getName()) + winnerScore);
+        int total = finalScores.get(winner.getName()) + winnerScore;
+        finalScores.put(winner.getName(), total);
+        record(UnoHistory.Kind.SCORE, players.indexOf(winner), 0, 0, winnerScore);
+        endStep();
+        fireEvent(UnoEvent.Type.SCORE_CHANGED, players.indexOf(winner), null, null, total);
 
         for(Player p: players) {
             int SCORE_TO_WIN = 500;
@@ -317,16 +830,141 @@ public class UnoModel {
      * @return true if the card can be legally played now
      */
     public boolean isPlayable(Card card){
+        return (PLAYABLE_MASKS[getTopIndex()] >>> card.getHandSlot() & 1L) != 0;
+    }
+
+    /**
+     * Legal play rule used to build {@link #PLAYABLE_MASKS}.
+     * @param top the top (discard) card, recoloured if it is a wild with a chosen colour
+     * @param card card to evaluate
+     * @return true if card may be played on top
+     */
+    private static boolean isPlayable(Card top, Card card) {
         if(card.getValue() == Values.WILD || card.getValue() == Values. WILD_DRAW_TWO) { //wild cards can always be played
             return true;
         }
 
-        boolean sameColour = topCard.getColour() != null && card.getColour() != null && card.getColour().equals(topCard.getColour());
-        boolean sameValue = card.getValue() == topCard.getValue();
+        boolean sameColour = top.getColour() != null && card.getColour() != null && card.getColour().equals(top.getColour());
+        boolean sameValue = card.getValue() == top.getValue();
 
         return sameColour || sameValue;
     }
 
+    /**
+     * @param topIndex pool index of the effective top card (recoloured for a wild with a chosen colour)
+     * @return mask of the hand slots that may be played on that card
+     */
+    static long playableMask(int topIndex) {
+        return PLAYABLE_MASKS[topIndex];
+    }
+
+    /**
+     * Legal moves of a player as a bit mask over hand slots: bit {@code s} is set
+     * if the player holds at least one card in slot {@code s} and it can be played now.
+     * @param player player whose hand is checked
+     * @return mask of playable hand slots (0 if nothing can be played)
+     */
+    public long getPlayableMask(Player player) {
+        return player.getPresenceMask() & PLAYABLE_MASKS[getTopIndex()];
+    }
+
+    /** @return mask of playable hand slots of the current player */
+    public long getPlayableMask() {
+        return getPlayableMask(getCurrPlayer());
+    }
+
+    /**
+     * Writes one card per playable hand slot of the player into the given array,
+     * in slot order, without allocating.
+     * @param player player whose hand is checked
+     * @param out destination with room for {@link Card#HAND_SLOTS} cards
+     * @return number of cards written
+     */
+    public int getPlayableCards(Player player, Card[] out) {
+        long mask = getPlayableMask(player);
+        int n = 0;
+        while (mask != 0) {
+            out[n++] = Card.ofIndex(Long.numberOfTrailingZeros(mask));
+            mask &= mask - 1;
+        }
+        return n;
+    }
+
+    /** @return the distinct playable cards of the current player, in slot order */
+    public List<Card> getPlayableCards() {
+        Card[] cards = new Card[Card.HAND_SLOTS];
+        return Arrays.asList(cards).subList(0, getPlayableCards(getCurrPlayer(), cards));
+    }
+
+    /** @return pool index of the effective top card (recoloured for a wild with a chosen colour) */
+    private int getTopIndex() {
+        if (wildColour != null) {
+            return Card.indexOf(wildColour, topCard.getValue());
+        }
+        return topCard.getIndex();
+    }
+
+    /**
+     * Replaces hands, turn, top card and cumulative scores with those of a
+     * compact state (see {@link UnoState#applyTo(UnoModel)}) as one undoable
+     * step. Fires STATE_RESTORED and notifies views once.
+     * @param state state with this model's number of players
+     */
+    void restore(UnoState state) {
+        UnoState before = stateBeforeChange();
+        beginBatch();
+        try {
+            load(state);
+            recordState(before);
+            fireEvent(UnoEvent.Type.STATE_RESTORED, currPlayerIndex, getTopCard(), null, -1);
+            notifyViews();
+        } finally {
+            endBatch();
+        }
+    }
+
+    /** Overwrites hands, turn, top card and scores with a state, without notifying anyone. */
+    private void load(UnoState state) {
+        for (int p = 0; p < players.size(); p++) {
+            state.loadHand(p, players.get(p));
+            finalScores.put(players.get(p).getName(), state.getScore(p));
+        }
+        Card top = Card.ofIndex(state.getTopIndex());
+        if (top.getIndex() >= Card.HAND_SLOTS) {
+            topCard = Card.ofIndex(top.getHandSlot());       // Recoloured wild: the wild plus its chosen colour
+            wildColour = top.getColour();
+        } else {
+            topCard = top;
+            wildColour = null;
+        }
+        currPlayerIndex = state.getCurrent();
+        direction = state.getDirection();
+    }
+
+    /**
+     * Sets the turn state of a model being loaded (see {@link UnoSaveFile});
+     * nothing is logged or notified.
+     * @param top top card, or null before the first round
+     * @param wildColour colour chosen for a wild top card, or null
+     * @param current index of the player to move
+     * @param direction +1 for clockwise, -1 for counterclockwise
+     */
+    void setTurn(Card top, Colours wildColour, int current, int direction) {
+        this.topCard = top;
+        this.wildColour = wildColour;
+        this.currPlayerIndex = current;
+        this.direction = direction;
+    }
+
+    /**
+     * Sets a player's cumulative score, e.g. in a model being loaded; nothing is logged or notified.
+     * @param playerName display name
+     * @param score cumulative (match) score
+     */
+    void setFinalScore(String playerName, int score) {
+        finalScores.put(playerName, score);
+    }
+
     /**
      * Adds a new player by name and initializes their cumulative score to 0.
      * @param playerName display name
@@ -334,6 +972,9 @@ public class UnoModel {
     public void addPlayer(String playerName) {
         players.add(new Player(playerName));
         finalScores.put(playerName, 0);
+        if (history != null) {
+            history.clear();                                // Seats changed: older changes no longer apply
+        }
     }
 
     /** @return current player object */
@@ -341,6 +982,37 @@ public class UnoModel {
         return players.get(currPlayerIndex);
     }
 
+    /** @return index of the current player in turn order */
+    public int getCurrPlayerIndex() {
+        return currPlayerIndex;
+    }
+
+    /** @return number of players in the game */
+    public int getPlayerCount() {
+        return players.size();
+    }
+
+    /**
+     * @param index seat index in turn order
+     * @return the player at that seat
+     */
+    public Player getPlayer(int index) {
+        return players.get(index);
+    }
+
+    /**
+     * @param playerName display name
+     * @return cumulative (match) score of that player
+     */
+    public int getFinalScore(String playerName) {
+        return finalScores.get(playerName);
+    }
+
+    /** @return turn direction: +1 for clockwise, -1 for counterclockwise */
+    public int getDirection() {
+        return direction;
+    }
+
     /**
      * @return the next player considering current direction
      */
@@ -348,24 +1020,282 @@ public class UnoModel {
         return players.get((currPlayerIndex + direction + players.size()) % players.size());
     }
 
-    /** @return the current top (discard) card */
+    /**
+     * @return the current top (discard) card; for a wild with a chosen colour,
+     * the pooled card of that colour is returned
+     */
     public Card getTopCard() {
+        if (wildColour != null) {
+            return Card.of(wildColour, topCard.getValue());
+        }
         return topCard;
     }
 
     /**
-     * Sets the current top (discard) card.
+     * Sets the current top (discard) card and clears any chosen wild colour.
      * @param card card to become the new top
      */
     public void setTopCard(Card card) {
+        record(UnoHistory.Kind.TOP, 0, cardCode(card), cardCode(topCard), colourCode(wildColour));
         topCard = card;
+        wildColour = null;
+        endStep();
+    }
+
+    /** @return colour chosen for the wild on top of the discard pile, or null */
+    public Colours getWildColour() {
+        return wildColour;
     }
 
     /**
      * @return true if the current player has emptied their hand
      */
     public boolean isDeckEmpty() {
-        return getCurrPlayer().getPersonalDeck().isEmpty();
+        return getCurrPlayer().getHandSize() == 0;
+    }
+
+    /**
+     * Reseeds the model with a fresh {@link UnoRandom}; the same seed
+     * always produces the same sequence of deals and draws.
+     * @param seed new seed
+     */
+    public void setSeed(long seed) {
+        reseed(seed);
+    }
+
+    /** Seeds a fresh random source; not overridable, as the seeding constructor calls it. */
+    private void reseed(long seed) {
+        this.seed = seed;
+        this.random = new UnoRandom(seed);
+        seeded = true;
+    }
+
+    /**
+     * Reseeds the model and restores the position of its random source in
+     * constant time, e.g. to resume a saved game (see {@link UnoSaveFile}).
+     * @param seed seed of the saved random source
+     * @param state {@link #getRandomState()} of the saved game
+     */
+    void setRandomState(long seed, long state) {
+        reseed(seed);
+        ((UnoRandom) random).setState(state);
+    }
+
+    /** @return true if cards are drawn from the stream of {@link #getSeed()} (no random source was set) */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    /**
+     * @return the state of the seeded random source, which with the seed fixes every following draw
+     * @throws IllegalStateException if the random source was set through {@link #setRandom(RandomGenerator)}
+     */
+    public long getRandomState() {
+        if (!seeded) {
+            throw new IllegalStateException("The random source was not seeded by this model");
+        }
+        return ((UnoRandom) random).getState();
+    }
+
+    /** @return seed last passed to {@link #setSeed(long)} or the seeding constructor */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Replaces the random source used for card draws.
+     * @param random random source (cannot be null)
+     */
+    public void setRandom(RandomGenerator random) {
+        this.random = Objects.requireNonNull(random);
+        seeded = false;
+    }
+
+    /** @return the random source used for card draws */
+    public RandomGenerator getRandom() {
+        return random;
+    }
+
+    /**
+     * Turns undo/redo on or off. With undo on, every change made through this
+     * model's methods is logged as a compact reversible delta (see
+     * {@link UnoHistory}); the changes of one outermost call or batch form one
+     * step. Changes made directly on a {@link Player}, or on the random
+     * source, are not logged.
+     * @param capacity number of deltas kept (the oldest steps are forgotten first), or 0 to turn undo off
+     */
+    public void setUndoCapacity(int capacity) {
+        history = capacity > 0 ? new UnoHistory(capacity) : null;
+    }
+
+    /** @return true if a step can be undone */
+    public boolean canUndo() {
+        return history != null && history.canUndo();
+    }
+
+    /** @return true if an undone step can be redone */
+    public boolean canRedo() {
+        return history != null && history.canRedo();
+    }
+
+    /**
+     * Reverts the last step (e.g. a whole {@link #wildDrawTwo(Colours)}).
+     * Cards drawn are taken back, but the random source is not rewound.
+     * Listeners receive STATE_RESTORED and views a single update.
+     * @return true if a step was undone
+     * @throws IllegalStateException inside a batch
+     */
+    public boolean undo() {
+        return replay(false);
+    }
+
+    /**
+     * Reapplies the last undone step, with the same cards it drew.
+     * Listeners receive STATE_RESTORED and views a single update.
+     * @return true if a step was redone
+     * @throws IllegalStateException inside a batch
+     */
+    public boolean redo() {
+        return replay(true);
+    }
+
+    /**
+     * Applies the deltas of one step, backward (undo) or forward (redo), as one batch.
+     * @return false if there was no step to apply
+     */
+    private boolean replay(boolean forward) {
+        if (batchDepth > 0) {
+            throw new IllegalStateException((forward ? "redo()" : "undo()") + " inside a batch");
+        }
+        if (!(forward ? canRedo() : canUndo())) {
+            return false;
+        }
+        beginBatch();
+        try {
+            for (int n = forward ? history.redoCount() : history.undoCount(); n > 0; n--) {
+                apply(forward ? history.next() : history.previous(), forward);
+            }
+            fireEvent(UnoEvent.Type.STATE_RESTORED, currPlayerIndex, getTopCard(), null, -1);
+            notifyViews();
+        } finally {
+            endBatch();
+        }
+        return true;
+    }
+
+    /**
+     * Applies one logged delta without logging or notifying.
+     * @param change packed delta (see {@link UnoHistory.Kind})
+     * @param forward true to redo the change, false to revert it
+     */
+    private void apply(long change, boolean forward) {
+        int player = UnoHistory.player(change);
+        int a = UnoHistory.a(change);
+        int b = UnoHistory.b(change);
+        int value = UnoHistory.value(change);
+        switch (UnoHistory.kind(change)) {
+            case PLAY -> {
+                if (forward) {
+                    players.get(player).removeCard(Card.ofIndex(a));
+                    topCard = Card.ofIndex(a);
+                    wildColour = null;
+                } else {
+                    players.get(player).insertCard(value >>> 3, Card.ofIndex(a));
+                    topCard = cardOf(b);
+                    wildColour = colourOf(value & 7);
+                }
+            }
+            case DRAW -> {
+                if (forward) {
+                    players.get(player).addCard(Card.ofIndex(a));
+                } else {
+                    players.get(player).removeNewestCard(Card.ofIndex(a));
+                }
+            }
+            case REVERSE -> direction = -direction;
+            case TURN -> currPlayerIndex = forward ? a : player;
+            case COLOUR -> wildColour = colourOf(forward ? b : a);
+            case TOP -> {
+                topCard = cardOf(forward ? a : b);
+                wildColour = forward ? null : colourOf(value);
+            }
+            case SCORE -> finalScores.merge(players.get(player).getName(), forward ? value : -value, Integer::sum);
+            case STATE -> load(history.payload()[forward ? 1 : 0]);
+        }
+    }
+
+    /** Logs a delta to the current step if undo is on. */
+    private void record(UnoHistory.Kind kind, int player, int a, int b, int value) {
+        if (history != null) {
+            collapseFullStep();
+            history.record(UnoHistory.change(kind, player, a, b, value), null);
+        }
+    }
+
+    /**
+     * If the unfinished step fills the whole undo log, replaces its deltas by
+     * one whole-state delta from the state before the step to the current one,
+     * so that a step larger than the log can still be undone in one piece.
+     */
+    private void collapseFullStep() {
+        if (!history.isStepFull()) {
+            return;
+        }
+        int size = history.stepSize();
+        for (int n = 0; n < size; n++) {
+            apply(history.previous(), false);
+        }
+        UnoState before = stateBeforeChange();
+        for (int n = 0; n < size; n++) {
+            apply(history.next(), true);
+        }
+        history.discardStep();
+        recordState(before);
+    }
+
+    /** @return a snapshot to log with a whole-state change, or null if undo is off or no round was dealt yet */
+    private UnoState stateBeforeChange() {
+        return history != null && topCard != null ? UnoState.of(this) : null;
+    }
+
+    /**
+     * Logs a whole-state change from the given snapshot to the current state.
+     * Without a snapshot (no round dealt before), older changes are forgotten.
+     */
+    private void recordState(UnoState before) {
+        if (history == null) {
+            return;
+        }
+        if (before == null) {
+            history.clear();
+        } else {
+            collapseFullStep();
+            history.record(UnoHistory.change(UnoHistory.Kind.STATE, 0, 0, 0, 0), new UnoState[] {before, UnoState.of(this)});
+        }
+    }
+
+    /** Closes the current undo step unless a batch is still open. */
+    private void endStep() {
+        if (history != null && batchDepth == 0) {
+            history.endStep();
+        }
+    }
+
+    private static int cardCode(Card card) {
+        return card == null ? UnoHistory.NO_CARD : card.getIndex();
+    }
+
+    private static Card cardOf(int code) {
+        return code == UnoHistory.NO_CARD ? null : Card.ofIndex(code);
+    }
+
+    /** @return colour ordinal + 1, or 0 for no colour */
+    private static int colourCode(Colours colour) {
+        return colour == null ? 0 : colour.ordinal() + 1;
+    }
+
+    private static Colours colourOf(int code) {
+        return code == 0 ? null : COLOURS[code - 1];
     }
 
     /**
@@ -386,11 +1316,122 @@ public class UnoModel {
         views.remove(view);
     }
 
+    /**
+     * Subscribes a listener to fine-grained model events.
+     * @param listener listener to add
+     * @param types event types to receive; all types if none are given
+     */
+    public void addListener(UnoEventListener listener, UnoEvent.Type... types) {
+        EnumSet<UnoEvent.Type> wanted = types.length == 0 ? EnumSet.allOf(UnoEvent.Type.class) : EnumSet.copyOf(Arrays.asList(types));
+        int mask = 0;
+        for (UnoEvent.Type type : wanted) {
+            mask |= 1 << type.ordinal();
+        }
+        subscriptions.add(new Subscription(listener, mask));
+        subscribedTypes |= mask;
+    }
+
+    /**
+     * Unsubscribes a listener from all event types.
+     * @param listener listener to remove
+     */
+    public void removeListener(UnoEventListener listener) {
+        subscriptions.removeIf(s -> s.listener() == listener);
+        subscribedTypes = 0;
+        for (Subscription s : subscriptions) {
+            subscribedTypes |= s.types();
+        }
+    }
+
+    /**
+     * Fires an event to subscribed listeners, or queues it inside a batch.
+     * Nothing is allocated when no listener wants this type.
+     */
+    private void fireEvent(UnoEvent.Type type, int playerIndex, Card card, Colours colour, int amount) {
+        if ((subscribedTypes & 1 << type.ordinal()) == 0) {
+            return;
+        }
+        UnoEvent event = new UnoEvent(this, type, playerIndex, card, colour, amount);
+        if (batchDepth > 0) {
+            pendingEvents.add(event);
+        } else {
+            deliver(event);
+        }
+    }
+
+    /** Delivers an event to every listener subscribed to its type. */
+    private void deliver(UnoEvent event) {
+        int bit = 1 << event.getType().ordinal();
+        for (int i = 0; i < subscriptions.size(); i++) {
+            Subscription s = subscriptions.get(i);
+            if ((s.types() & bit) != 0) {
+                s.listener().modelChanged(event);
+            }
+        }
+    }
+
+    /** A listener and the event types it subscribed to (bit per type ordinal). */
+    private record Subscription(UnoEventListener listener, int types) {
+    }
+
+    /**
+     * Opens a notification batch: until the matching {@link #endBatch()}, view
+     * updates are deferred and coalesced. Batches may be nested.
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * Closes a notification batch. When the outermost batch closes, event listeners
+     * receive the batch's events in order, then views receive exactly one update
+     * if anything changed inside it.
+     */
+    public void endBatch() {
+        if (batchDepth == 0) {
+            throw new IllegalStateException("endBatch() without beginBatch()");
+        }
+        if (--batchDepth > 0) {
+            return;
+        }
+        endStep();
+        for (int i = 0; i < pendingEvents.size(); i++) {
+            deliver(pendingEvents.get(i));
+        }
+        pendingEvents.clear();
+        if (pendingUpdate) {
+            pendingUpdate = false;
+            notifyViews();
+        }
+    }
+
+    /**
+     * Runs a compound action as one batch, emitting a single coalesced update.
+     * @param action model mutations to apply together
+     */
+    public void batch(Runnable action) {
+        beginBatch();
+        try {
+            action.run();
+        } finally {
+            endBatch();
+        }
+    }
+
     /**
      * Notifies all registered views to refresh from model state.
-     * (Simple observer-style callback.)
+     * (Simple observer-style callback.) Inside a batch the update is deferred
+     * to {@link #endBatch()}; with no views registered this does nothing.
      */
     public void notifyViews() {
+        endStep();
+        if (views.isEmpty()) {
+            return;
+        }
+        if (batchDepth > 0) {
+            pendingUpdate = true;
+            return;
+        }
         for(UnoView v: views) {
             v.update(this);
         }
@@ -9,11 +9,20 @@
  *  - Turn order logic (advance + nextPlayer)
  *  - Scoring and deck-empty checks
  *  - Basic model functionality such as top card setting and card playability
+ *  - Compact state snapshots (UnoState) copied and converted back to models
+ *  - Undo/redo of whole steps within a bounded log
+ *  - Binary save/load of single games and memory-mapped archives
+ *  - The card atlas and the bounded LRU cache of scaled card images
  */
 
 import org.junit.*;
 import static org.junit.Assert.*;
 import java.util.*;
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.file.*;
+import javax.swing.ImageIcon;
 
 public class UnoModelTest {
 
@@ -43,6 +52,114 @@ public class UnoModelTest {
     }
   }
 
+  /** getRandomCard() must hand out the shared pooled instances, never fresh cards. */
+  @Test
+  public void testGetRandomCardPooled() {
+    for (int i = 0; i < 50; i++) {
+      UnoModel.Card card = model.getRandomCard();
+      assertSame(UnoModel.Card.of(card.getColour(), card.getValue()), card);
+    }
+  }
+
+  /** Choosing a wild colour must not recolour the shared wild card. */
+  @Test
+  public void testWildKeepsPooledCardColourless() {
+    model.newRound();
+    UnoModel.Card wild = UnoModel.Card.of(null, UnoModel.Values.WILD);
+    model.playCard(wild);
+    model.wild(UnoModel.Colours.BLUE);
+
+    assertNull(wild.getColour());
+    assertEquals(UnoModel.Colours.BLUE, model.getWildColour());
+    assertEquals(UnoModel.Colours.BLUE, model.getTopCard().getColour());
+    assertTrue(model.isPlayable(UnoModel.Card.of(UnoModel.Colours.BLUE, UnoModel.Values.NINE)));
+  }
+
+  /** Two models with the same seed must deal and draw exactly the same cards. */
+  @Test
+  public void testSeedReproducible() {
+    UnoModel a = new UnoModel(42L);
+    UnoModel b = new UnoModel(42L);
+    for (UnoModel m : List.of(a, b)) {
+      m.addPlayer("John");
+      m.addPlayer("Mark");
+      m.newRound();
+    }
+
+    assertEquals(a.getTopCard(), b.getTopCard());
+    assertEquals(a.getCurrPlayer().getPersonalDeck(), b.getCurrPlayer().getPersonalDeck());
+    for (int i = 0; i < 100; i++) {
+      assertSame(a.getRandomCard(), b.getRandomCard());
+    }
+
+    a.setSeed(7L);
+    b.setSeed(7L);
+    assertSame(a.getRandomCard(), b.getRandomCard());
+  }
+
+  /** View stub counting update() calls. */
+  private static class CountingView implements UnoView {
+    int updates;
+    public void update(UnoModel model) { updates++; }
+    public void updateHandPanel(UnoModel model, UnoController controller) { }
+    public void updateStatusMessage(String msg) { }
+    public void updateWinner(String winner, int score) { }
+  }
+
+  /** A batch must emit exactly one update, and wildDrawTwo() is a single batch. */
+  @Test
+  public void testBatchCoalescesUpdates() {
+    model.newRound();
+    CountingView view = new CountingView();
+    model.addView(view);
+
+    model.wildDrawTwo(UnoModel.Colours.RED);
+    assertEquals(1, view.updates);
+
+    model.batch(() -> {
+      model.playCard(model.getCurrPlayer().getPersonalDeck().get(0));
+      model.beginBatch();
+      model.reverse();
+      model.endBatch();
+      model.advance();
+    });
+    assertEquals(2, view.updates);
+
+    model.batch(() -> { });
+    assertEquals(2, view.updates);
+
+    model.advance();
+    assertEquals(3, view.updates);
+  }
+
+  /** Listeners must only receive subscribed event types, in order, with batch events delivered at the end. */
+  @Test
+  public void testTypedEvents() {
+    model.newRound();
+    List<UnoEvent> events = new ArrayList<>();
+    model.addListener(events::add, UnoEvent.Type.COLOUR_CHOSEN, UnoEvent.Type.CARDS_DRAWN, UnoEvent.Type.TURN_ADVANCED);
+
+    model.wildDrawTwo(UnoModel.Colours.BLUE);
+    assertEquals(3, events.size());
+    assertEquals(UnoEvent.Type.COLOUR_CHOSEN, events.get(0).getType());
+    assertEquals(UnoModel.Colours.BLUE, events.get(0).getColour());
+    assertEquals(UnoEvent.Type.CARDS_DRAWN, events.get(1).getType());
+    assertEquals(1, events.get(1).getPlayerIndex());
+    assertEquals(2, events.get(1).getAmount());
+    assertEquals(UnoEvent.Type.TURN_ADVANCED, events.get(2).getType());
+    assertSame(model, events.get(2).getModel());
+
+    events.clear();
+    model.reverse();
+    assertTrue(events.isEmpty());
+
+    model.beginBatch();
+    model.drawCard();
+    assertTrue(events.isEmpty());
+    model.endBatch();
+    assertEquals(1, events.size());
+  }
+
   /** Playing a card removes it from hand and updates top card. */
   @Test
   public void testPlayCardTop() {
@@ -218,6 +335,38 @@ public class UnoModelTest {
     }
   }
 
+  /** The playable mask and isPlayable() must follow the colour/value/wild rule for every hand slot. */
+  @Test
+  public void testPlayableMaskMatchesIsPlayable() {
+    model.newRound();
+    UnoModel.Player player = model.getCurrPlayer();
+    player.clearHand();
+    for (int slot = 0; slot < UnoModel.Card.HAND_SLOTS; slot++) {
+      player.addCard(UnoModel.Card.ofIndex(slot));
+    }
+
+    for (int i = 0; i < 200; i++) {
+      model.setTopCard(model.getRandomCard());
+      if (i % 3 == 0) {
+        model.wild(UnoModel.Colours.GREEN);
+      }
+      UnoModel.Card top = model.getTopCard();
+      long mask = model.getPlayableMask();
+      for (int slot = 0; slot < UnoModel.Card.HAND_SLOTS; slot++) {
+        UnoModel.Card card = UnoModel.Card.ofIndex(slot);
+        boolean expected = card.getColour() == null
+            || card.getColour() == top.getColour()
+            || card.getValue() == top.getValue();
+        assertEquals(expected, (mask >>> slot & 1L) != 0);
+        assertEquals(expected, model.isPlayable(card));
+      }
+    }
+
+    player.clearHand();
+    player.addCard(UnoModel.Card.of(null, UnoModel.Values.WILD));
+    assertEquals(List.of(UnoModel.Card.of(null, UnoModel.Values.WILD)), model.getPlayableCards());
+  }
+
   /** advance() must move to a new player. */
   @Test
   public void testAdvanceNextPlayer() {
@@ -250,6 +399,88 @@ public class UnoModelTest {
     assertEquals(71, score);
   }
 
+  /** The slot counts and the list view of a hand must always agree, and the list keeps the order cards arrived in. */
+  @Test
+  public void testCompactHand() {
+    UnoModel.Player player = new UnoModel.Player("Ann");
+    UnoModel.Card blueTwo = UnoModel.Card.of(UnoModel.Colours.BLUE, UnoModel.Values.TWO);
+    UnoModel.Card redSkip = UnoModel.Card.of(UnoModel.Colours.RED, UnoModel.Values.SKIP);
+    UnoModel.Card wild = UnoModel.Card.of(null, UnoModel.Values.WILD);
+
+    player.addCard(wild);
+    player.addCard(blueTwo);
+    player.addCard(redSkip);
+    player.addCard(blueTwo);
+
+    assertEquals(4, player.getHandSize());
+    assertEquals(2, player.getCount(blueTwo.getHandSlot()));
+    assertEquals(List.of(wild, blueTwo, redSkip, blueTwo), player.getPersonalDeck());
+
+    assertTrue(player.removeCard(blueTwo));                 // The oldest copy leaves, as with List.remove
+    assertFalse(player.removeCard(UnoModel.Card.of(UnoModel.Colours.GREEN, UnoModel.Values.NINE)));
+    assertEquals(List.of(wild, redSkip, blueTwo), player.getPersonalDeck());
+
+    player.getPersonalDeck().remove(wild);
+    assertEquals(0, player.getCount(wild.getHandSlot()));
+    assertEquals(2, player.getHandSize());
+
+    // Many arrivals and removals: the order survives the log being compacted and grown
+    List<UnoModel.Card> expected = new ArrayList<>(player.getPersonalDeck());
+    for (int i = 0; i < 200; i++) {
+      UnoModel.Card card = UnoModel.Card.ofIndex(i * 7 % UnoModel.Card.HAND_SLOTS);
+      player.addCard(card);
+      expected.add(card);
+      if (i % 3 == 0) {
+        UnoModel.Card gone = expected.get(i % expected.size());
+        player.removeCard(gone);
+        expected.remove(gone);
+      }
+      if (i % 5 == 0) {
+        int index = i % expected.size();
+        assertEquals(expected.remove(index), player.getPersonalDeck().remove(index));
+      }
+    }
+    assertEquals(expected, player.getPersonalDeck());
+
+    // Removing by position takes out that element, even when an older copy is held
+    UnoModel.Card redFive = UnoModel.Card.of(UnoModel.Colours.RED, UnoModel.Values.FIVE);
+    UnoModel.Card blueOne = UnoModel.Card.of(UnoModel.Colours.BLUE, UnoModel.Values.ONE);
+    player.clearHand();
+    player.addCard(redFive);
+    player.addCard(blueOne);
+    player.addCard(redFive);
+    assertEquals(redFive, player.getPersonalDeck().remove(2));
+    assertEquals(List.of(redFive, blueOne), player.getPersonalDeck());
+    player.addCard(redFive);
+    assertTrue(player.removeCard(redFive));
+    assertEquals(List.of(blueOne, redFive), player.getPersonalDeck());
+  }
+
+  /** Running point totals must match a full recount of every hand after random play. */
+  @Test
+  public void testRunningPointsMatchRecount() {
+    UnoModel seeded = new UnoModel(21L);
+    seeded.addPlayer("A");
+    seeded.addPlayer("B");
+    seeded.addPlayer("C");
+    UnoSimulator simulator = UnoSimulator.automatic(3);
+    seeded.newRound();
+
+    for (int turn = 0; turn < 500; turn++) {
+      if (simulator.playTurn(seeded) != null) {
+        seeded.newRound();
+      }
+      for (int i = 0; i < seeded.getPlayerCount(); i++) {
+        UnoModel.Player player = seeded.getPlayer(i);
+        int recount = 0;
+        for (UnoModel.Card card : player.getPersonalDeck()) {
+          recount += card.getPoints();
+        }
+        assertEquals(recount, player.getPoints());
+      }
+    }
+  }
+
   /** isDeckEmpty() must reflect whether current player's hand is empty or not. */
   @Test
   public void testIsDeckEmpty() {
@@ -276,4 +507,367 @@ public class UnoModelTest {
 
     assertEquals(chosen, model.getTopCard());
   }
+
+  /** A state must survive copy() and conversion back to a model unchanged, independent of its source. */
+  @Test
+  public void testStateRoundTrip() {
+    model.newRound();
+    model.checkWinner(model.getPlayer(1));
+    model.setTopCard(UnoModel.Card.of(null, UnoModel.Values.WILD));
+    model.wild(UnoModel.Colours.BLUE);
+    model.reverse();
+    model.advance();
+
+    UnoState state = UnoState.of(model);
+    UnoState copy = state.copy();
+    state.playTurn(UnoState.DRAW, 0, new SplittableRandom(1L));
+    assertEquals(model.getCurrPlayerIndex(), copy.getCurrent());
+
+    UnoModel restored = copy.toModel(List.of("John", "Mark"), 3L);
+    assertEquals(UnoModel.Values.WILD, restored.getTopCard().getValue());
+    assertEquals(UnoModel.Colours.BLUE, restored.getWildColour());
+    assertEquals(-1, restored.getDirection());
+    assertEquals(model.getCurrPlayerIndex(), restored.getCurrPlayerIndex());
+    assertEquals(model.getFinalScore("Mark"), restored.getFinalScore("Mark"));
+    for (int p = 0; p < 2; p++) {
+      for (int slot = 0; slot < UnoModel.Card.HAND_SLOTS; slot++) {
+        assertEquals(model.getPlayer(p).getCount(slot), restored.getPlayer(p).getCount(slot));
+      }
+      assertEquals(model.getPlayer(p).getPoints(), restored.getPlayer(p).getPoints());
+      assertEquals(model.getPlayableMask(model.getPlayer(p)), restored.getPlayableMask(restored.getPlayer(p)));
+    }
+
+    // Applying onto a live model is one coalesced update
+    CountingView view = new CountingView();
+    model.addView(view);
+    state.applyTo(model);
+    assertEquals(1, view.updates);
+    assertEquals(state.getCurrent(), model.getCurrPlayerIndex());
+    assertEquals(state.getHandSize(state.getCurrent()), model.getCurrPlayer().getHandSize());
+  }
+
+  /** Undo and redo must walk back and forth through every step, one view update each, in bounded memory. */
+  @Test
+  public void testUndoRedo() {
+    model.setSeed(11L);
+    model.setUndoCapacity(64);
+    assertFalse(model.undo());
+    model.newRound();
+    CountingView view = new CountingView();
+    model.addView(view);
+
+    List<UnoState> states = new ArrayList<>();
+    states.add(UnoState.of(model));
+    model.batch(() -> {                                     // A card with its effect, as the controller plays it
+      UnoModel.Card card = model.getCurrPlayer().getPersonalDeck().get(0);
+      model.playCard(card);
+      model.setTopCard(card);
+      model.drawOne();
+    });
+    states.add(UnoState.of(model));
+    model.advance();
+    states.add(UnoState.of(model));
+    model.setTopCard(UnoModel.Card.of(null, UnoModel.Values.WILD_DRAW_TWO));
+    states.add(UnoState.of(model));
+    model.wildDrawTwo(UnoModel.Colours.GREEN);
+    states.add(UnoState.of(model));
+    model.reverse();
+    model.drawCard();
+    model.checkWinner(model.getPlayer(1));
+    states.add(UnoState.of(model));
+    model.newRound();
+    states.add(UnoState.of(model));
+    int steps = states.size() - 1 + 2;                      // reverse() and drawCard() were steps too
+
+    view.updates = 0;
+    for (int i = 0; i < steps; i++) {
+      assertTrue(model.undo());
+    }
+    assertFalse(model.canUndo());
+    assertEquals(steps, view.updates);
+    assertEquals(states.get(0), UnoState.of(model));
+
+    for (int i = 1; i < 4; i++) {
+      assertTrue(model.redo());
+      assertEquals(states.get(i), UnoState.of(model));
+    }
+    assertTrue(model.redo());                               // wildDrawTwo() is a single step
+    assertEquals(states.get(4), UnoState.of(model));
+    assertEquals(UnoModel.Colours.GREEN, model.getWildColour());
+    model.redo();
+    model.redo();
+    model.redo();
+    assertEquals(states.get(5), UnoState.of(model));
+    assertEquals(model.getFinalScore("Mark"), states.get(5).getScore(1));
+    model.redo();
+    assertEquals(states.get(6), UnoState.of(model));
+    assertFalse(model.redo());
+
+    // A new change drops the redo steps
+    model.undo();
+    model.advance();
+    assertFalse(model.canRedo());
+
+    // Only the newest steps fit in the log
+    for (int i = 0; i < 1000; i++) {
+      model.drawCard();
+    }
+    int undone = 0;
+    while (model.undo()) {
+      undone++;
+    }
+    assertEquals(64, undone);
+  }
+
+  /** Undo and redo must put every card back where it was in the hand, not just back in the hand. */
+  @Test
+  public void testUndoKeepsHandOrder() {
+    model.setSeed(17L);
+    model.setUndoCapacity(64);
+    model.newRound();
+    UnoModel.Player player = model.getCurrPlayer();
+    UnoModel.Card redFive = UnoModel.Card.of(UnoModel.Colours.RED, UnoModel.Values.FIVE);
+    player.getPersonalDeck().add(3, redFive);               // Two copies, the older one mid-hand
+    player.addCard(redFive);
+
+    List<List<UnoModel.Card>> hands = new ArrayList<>();
+    hands.add(new ArrayList<>(player.getPersonalDeck()));
+    model.playCard(redFive);
+    hands.add(new ArrayList<>(player.getPersonalDeck()));
+    model.playCard(player.getPersonalDeck().get(0));
+    hands.add(new ArrayList<>(player.getPersonalDeck()));
+    for (int i = 0; i < 10; i++) {                          // Draws repeat cards already held
+      model.drawCard();
+    }
+    hands.add(new ArrayList<>(player.getPersonalDeck()));
+    model.playCard(player.getPersonalDeck().get(player.getHandSize() - 1));
+    hands.add(new ArrayList<>(player.getPersonalDeck()));
+
+    for (int i = hands.size() - 2; i >= 0; i--) {
+      for (int undo = i == 2 ? 10 : 1; undo > 0; undo--) {
+        assertTrue(model.undo());
+      }
+      assertEquals(hands.get(i), player.getPersonalDeck());
+    }
+    for (int i = 1; i < hands.size(); i++) {
+      for (int redo = i == 3 ? 10 : 1; redo > 0; redo--) {
+        assertTrue(model.redo());
+      }
+      assertEquals(hands.get(i), player.getPersonalDeck());
+    }
+
+    // A step collapsed into a whole-state change ends with the same order as without undo
+    UnoModel plain = new UnoModel();
+    plain.addPlayer("John");
+    plain.addPlayer("Mark");
+    for (UnoModel m : List.of(model, plain)) {
+      m.setSeed(19L);
+      m.newRound();
+      m.batch(() -> {
+        for (int i = 0; i < 40; i++) {
+          m.drawCard();
+          m.playCard(m.getCurrPlayer().getPersonalDeck().get(i % 5));
+        }
+      });
+    }
+    assertEquals(plain.getCurrPlayer().getPersonalDeck(), model.getCurrPlayer().getPersonalDeck());
+  }
+
+  /** A step larger than the undo log must still be undone and redone as a whole. */
+  @Test
+  public void testUndoStepLargerThanLog() {
+    model.setSeed(13L);
+    model.setUndoCapacity(16);
+    model.newRound();
+    model.advance();
+    UnoState before = UnoState.of(model);
+    model.batch(() -> {
+      for (int i = 0; i < 100; i++) {
+        model.drawCard();
+      }
+      model.reverse();
+      model.advance();
+    });
+    UnoState after = UnoState.of(model);
+
+    assertTrue(model.undo());
+    assertEquals(before, UnoState.of(model));
+    assertEquals(before.getHandSize(before.getCurrent()), model.getCurrPlayer().getHandSize());
+    assertTrue(model.redo());
+    assertEquals(after, UnoState.of(model));
+    assertTrue(model.undo());
+    assertFalse(model.canUndo());                           // Older steps made room for the big one
+  }
+
+  /** A saved game must load with the same state and continue with the same draws. */
+  @Test
+  public void testSaveLoad() throws IOException {
+    model.setSeed(19L);
+    model.newRound();
+    model.checkWinner(model.getPlayer(0));
+    model.setTopCard(UnoModel.Card.of(null, UnoModel.Values.WILD));
+    model.wild(UnoModel.Colours.YELLOW);
+    model.reverse();
+    model.drawCard();
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    UnoSaveFile.save(model, Channels.newChannel(bytes));
+    assertEquals(UnoSaveFile.size(model), bytes.size());
+    UnoModel loaded = UnoSaveFile.load(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+
+    assertEquals(UnoState.of(model), UnoState.of(loaded));
+    assertEquals("Mark", loaded.getPlayer(1).getName());
+    assertEquals(model.getFinalScore("John"), loaded.getFinalScore("John"));
+    assertEquals(UnoModel.Colours.YELLOW, loaded.getWildColour());
+    assertEquals(-1, loaded.getDirection());
+    for (int i = 0; i < 20; i++) {
+      assertSame(model.getRandomCard(), loaded.getRandomCard());
+    }
+
+    byte[] corrupt = bytes.toByteArray();
+    corrupt[0] = 0;
+    try {
+      UnoSaveFile.read(ByteBuffer.wrap(corrupt));
+      fail("Corrupt save was loaded");
+    } catch (IOException expected) {
+      // expected
+    }
+
+    // Lengths beyond the data are rejected before they are used or allocated
+    for (int length : new int[] {bytes.size(), Integer.MAX_VALUE}) {
+      corrupt = bytes.toByteArray();
+      ByteBuffer.wrap(corrupt).putInt(8, length);
+      try {
+        UnoSaveFile.read(ByteBuffer.wrap(corrupt));
+        fail("Save with length " + length + " was read");
+      } catch (IOException expected) {
+        // expected
+      }
+      Path file = Files.createTempFile("uno-test", ".bin");
+      try {
+        Files.write(file, corrupt);
+        UnoSaveFile.load(file);
+        fail("Save with length " + length + " was loaded");
+      } catch (IOException expected) {
+        // expected
+      } finally {
+        Files.delete(file);
+      }
+    }
+  }
+
+  /** The seeded random source must match SplittableRandom and resume from its saved state. */
+  @Test
+  public void testRandomState() {
+    UnoRandom random = new UnoRandom(23L);
+    java.util.SplittableRandom reference = new java.util.SplittableRandom(23L);
+    for (int i = 0; i < 100; i++) {
+      assertEquals(reference.nextInt(15), random.nextInt(15));
+      assertEquals(reference.nextLong(), random.nextLong());
+    }
+    UnoModel seeded = new UnoModel(29L);
+    seeded.getRandomCard();
+    UnoModel resumed = new UnoModel(0L);
+    resumed.setRandomState(29L, seeded.getRandomState());
+    for (int i = 0; i < 20; i++) {
+      assertSame(seeded.getRandomCard(), resumed.getRandomCard());
+    }
+  }
+
+  /** An archive must restore every game, all at once or one by one. */
+  @Test
+  public void testSaveArchive() throws IOException {
+    List<UnoModel> games = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      UnoModel game = new UnoModel(i);
+      for (int p = 0; p <= i; p++) {
+        game.addPlayer("Player" + p);
+      }
+      game.newRound();
+      games.add(game);
+    }
+    Path archive = Files.createTempFile("uno-test", ".bin");
+    try {
+      UnoSaveFile.saveAll(games, archive);
+      List<UnoModel> loaded = UnoSaveFile.loadAll(archive);
+      assertEquals(3, loaded.size());
+      for (int i = 0; i < 3; i++) {
+        assertEquals(UnoState.of(games.get(i)), UnoState.of(loaded.get(i)));
+      }
+      assertEquals(UnoState.of(games.get(2)), UnoState.of(UnoSaveFile.load(archive, 2)));
+    } finally {
+      Files.delete(archive);
+    }
+  }
+
+  /** The committed card atlas must have been packed from the current card images, and only serve sizes it holds. */
+  @Test
+  public void testCardAtlasIsCurrent() throws IOException {
+    assertTrue("images/cards.atlas is stale; run UnoCardAtlas", UnoCardAtlas.isCurrent(UnoCardAtlas.DEFAULT_PATH));
+    UnoCardAtlas atlas = UnoCardAtlas.load(UnoCardAtlas.DEFAULT_PATH);
+    assertTrue(atlas.covers(UnoImageCache.CARD_WIDTH, UnoImageCache.CARD_HEIGHT));
+    assertFalse(atlas.covers(856, 1280));
+  }
+
+  /** The image cache must serve repeats from memory, count hits and misses, and evict the least recently used image. */
+  @Test
+  public void testImageCacheEvictsLeastRecentlyUsed() {
+    UnoImageCache cache = new UnoImageCache(2);
+    UnoModel.Card red = UnoModel.Card.of(UnoModel.Colours.RED, UnoModel.Values.ONE);
+    UnoModel.Card blue = UnoModel.Card.of(UnoModel.Colours.BLUE, UnoModel.Values.ONE);
+    UnoModel.Card green = UnoModel.Card.of(UnoModel.Colours.GREEN, UnoModel.Values.ONE);
+
+    ImageIcon redIcon = cache.get(red, 30, 50);
+    ImageIcon blueIcon = cache.get(blue, 30, 50);
+    assertEquals(30, redIcon.getIconWidth());
+    assertEquals(50, redIcon.getIconHeight());
+    assertEquals(0, cache.getHits());
+    assertEquals(2, cache.getMisses());
+
+    assertSame(redIcon, cache.get(red, 30, 50));            // Red is now the most recently used
+    ImageIcon greenIcon = cache.get(green, 30, 50);         // Full: blue is evicted
+    assertEquals(2, cache.size());
+    assertSame(redIcon, cache.get(red, 30, 50));
+    assertSame(greenIcon, cache.get(green, 30, 50));
+    assertEquals(3, cache.getHits());
+    assertEquals(3, cache.getMisses());
+
+    assertNotSame(blueIcon, cache.get(blue, 30, 50));       // Loaded again, evicting red
+    assertEquals(4, cache.getMisses());
+    assertSame(greenIcon, cache.get(green, 30, 50));
+    assertNotSame(redIcon, cache.get(red, 30, 50));
+    assertEquals(5, cache.getMisses());
+    assertEquals(2, cache.size());
+
+    // The size is part of the key, and a file path shares the cache with card faces
+    assertNotSame(cache.get(red, 30, 50), cache.get(red, 31, 50));
+    ImageIcon file = cache.get(red.getFileName(), 30, 50);
+    assertSame(file, cache.get(red.getFileName(), 30, 50));
+    assertEquals(2, cache.size());
+    assertEquals(7, cache.getMisses());
+    assertEquals(6, cache.getHits());
+  }
+
+  /** An atlas index entry outside the slots or the image must fail as an IOException, so callers fall back to the images. */
+  @Test
+  public void testCardAtlasRejectsCorruptIndex() throws IOException {
+    byte[] bytes = Files.readAllBytes(UnoCardAtlas.DEFAULT_PATH);
+    int[][] corruptions = {                                 // Offset in the first entry, value
+        {0, UnoModel.Card.HAND_SLOTS}, {0, -1}, {4, -1}, {8, 1 << 20}, {12, Integer.MAX_VALUE}, {16, 0}
+    };
+    for (int[] corruption : corruptions) {
+      byte[] corrupt = bytes.clone();
+      ByteBuffer.wrap(corrupt).putInt(20 + corruption[0], corruption[1]);
+      Path file = Files.createTempFile("uno-test", ".atlas");
+      try {
+        Files.write(file, corrupt);
+        UnoCardAtlas.load(file);
+        fail("Atlas with " + Arrays.toString(corruption) + " was loaded");
+      } catch (IOException expected) {
+        // expected
+      } finally {
+        Files.delete(file);
+      }
+    }
+  }
 }
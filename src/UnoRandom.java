@@ -0,0 +1,52 @@
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * SplitMix64 random source whose whole state is one readable {@code long}.
+ * <p>
+ * It is the default random source of a seeded {@link UnoModel}. The generator
+ * produces exactly the same numbers as {@code new SplittableRandom(seed)}
+ * (same state increment and output mixing), but unlike {@link SplittableRandom}
+ * its position can be read with {@link #getState()} and restored with
+ * {@link #setState(long)}, so a saved game ({@link UnoSaveFile}) resumes its
+ * draws in constant time instead of replaying them.
+ * </p>
+ * Instances are not thread-safe; like the model owning it, use one per thread.
+ */
+public final class UnoRandom implements RandomGenerator {
+    /** State increment: the odd 64-bit golden ratio, as used by SplittableRandom. */
+    private static final long GAMMA = 0x9e3779b97f4a7c15L;
+
+    private long state;
+
+    /** @param seed initial state, as for {@code new SplittableRandom(seed)} */
+    public UnoRandom(long seed) {
+        state = seed;
+    }
+
+    /** @return the current state; a generator set to it continues with the same numbers */
+    public long getState() {
+        return state;
+    }
+
+    /** @param state a state returned by {@link #getState()} (or a seed) */
+    public void setState(long state) {
+        this.state = state;
+    }
+
+    @Override
+    public long nextLong() {
+        long z = state += GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /** @return the next 32 bits, mixed like {@link SplittableRandom#nextInt()} */
+    @Override
+    public int nextInt() {
+        long z = state += GAMMA;
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+}
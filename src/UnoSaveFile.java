@@ -0,0 +1,405 @@
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compact, versioned binary save format for games.
+ * <p>
+ * A save holds the full game state of a {@link UnoModel}: players with their
+ * cumulative scores and hands, the top card and chosen wild colour, direction,
+ * current player and the position of the random source, so a loaded game
+ * continues with exactly the same draws as the saved one. Saves are written
+ * and read with {@link ByteBuffer}s through NIO channels; no serialization or
+ * reflection is involved. Record layout (big-endian):
+ * </p>
+ * <pre>
+ *   int magic 'UNOS', int version, int length (bytes that follow),
+ *   byte flags (bit 0: seeded), long seed, long randomState,
+ *   byte players, byte current, byte direction, byte topCard, byte wildColour,
+ *   players x (short nameLength, UTF-8 name, int finalScore, short handSize, handSize x byte card)
+ * </pre>
+ * <p>
+ * Cards are hand slots ({@link UnoModel.Card#getHandSlot()}; 0xFF for no top
+ * card) and hands are sorted; colours are ordinal + 1 (0 for none).
+ * The random source is stored as its seed and its current state
+ * ({@link UnoModel#getRandomState()}), which loading restores in constant time;
+ * a model whose random source was replaced ({@link UnoModel#setRandom}) is
+ * saved unseeded and loads with a fresh random source. Views, listeners and
+ * the undo log are not saved. Lengths and offsets read from a file are checked
+ * against the data available before use, so a corrupt save fails with an
+ * {@link IOException}.
+ * </p>
+ * An archive ({@link #saveAll(List, Path)}) stores many saves in one
+ * memory-mapped file: {@code int magic 'UNOB', int version, int count,
+ * (count + 1) x int offset}, then the records; any game can be loaded on its
+ * own ({@link #load(Path, int)}).
+ */
+public final class UnoSaveFile {
+    /** Save record magic: "UNOS". */
+    private static final int MAGIC = 0x554E4F53;
+
+    /** Archive file magic: "UNOB". */
+    private static final int ARCHIVE_MAGIC = 0x554E4F42;
+
+    /** Current format version. */
+    private static final int VERSION = 2;
+
+    /** Bytes before a record's body: magic, version, length. */
+    private static final int HEADER_SIZE = 12;
+
+    /** Bytes of a record body before the players. */
+    private static final int FIXED_SIZE = 1 + 8 + 8 + 5;
+
+    /** Largest possible record body: 255 players with the longest names and hands. */
+    private static final int MAX_LENGTH = FIXED_SIZE + 0xFF * (2 + 0xFFFF + 4 + 2 + 0xFFFF);
+
+    private static final int SEEDED = 1;
+    private static final int NO_CARD = 0xFF;
+
+    private UnoSaveFile() {
+    }
+
+    /**
+     * @param model game to measure
+     * @return number of bytes {@link #write(UnoModel, ByteBuffer)} takes for it
+     */
+    public static int size(UnoModel model) {
+        int size = HEADER_SIZE + FIXED_SIZE;
+        for (int p = 0; p < model.getPlayerCount(); p++) {
+            UnoModel.Player player = model.getPlayer(p);
+            size += 2 + player.getName().getBytes(StandardCharsets.UTF_8).length + 4 + 2 + player.getHandSize();
+        }
+        return size;
+    }
+
+    /**
+     * Writes a save record at the buffer's position.
+     * @param model game to save (only read)
+     * @param buffer destination with at least {@link #size(UnoModel)} bytes remaining
+     * @throws IllegalArgumentException if the game does not fit the format (more than 255 players or 65535 cards in a hand)
+     * @throws BufferOverflowException if the buffer is too small
+     */
+    public static void write(UnoModel model, ByteBuffer buffer) {
+        int players = model.getPlayerCount();
+        if (players > 0xFF) {
+            throw new IllegalArgumentException("Too many players to save: " + players);
+        }
+        buffer.putInt(MAGIC).putInt(VERSION);
+        int lengthAt = buffer.position();
+        buffer.putInt(0);
+
+        boolean seeded = model.isSeeded();
+        buffer.put((byte) (seeded ? SEEDED : 0)).putLong(model.getSeed()).putLong(seeded ? model.getRandomState() : 0);
+        UnoModel.Card top = model.getTopCard();
+        boolean recoloured = top != null && top.getIndex() >= UnoModel.Card.HAND_SLOTS;
+        buffer.put((byte) players)
+                .put((byte) model.getCurrPlayerIndex())
+                .put((byte) model.getDirection())
+                .put((byte) (top == null ? NO_CARD : top.getHandSlot()))          // A wild is saved colourless ...
+                .put((byte) (recoloured ? top.getColour().ordinal() + 1 : 0));    // ... with its chosen colour
+
+        for (int p = 0; p < players; p++) {
+            UnoModel.Player player = model.getPlayer(p);
+            byte[] name = player.getName().getBytes(StandardCharsets.UTF_8);
+            if (name.length > 0xFFFF || player.getHandSize() > 0xFFFF) {
+                throw new IllegalArgumentException("Player too large to save: " + player.getName());
+            }
+            buffer.putShort((short) name.length).put(name)
+                    .putInt(model.getFinalScore(player.getName()))
+                    .putShort((short) player.getHandSize());
+            for (int slot = 0; slot < UnoModel.Card.HAND_SLOTS; slot++) {
+                for (int k = player.getCount(slot); k > 0; k--) {
+                    buffer.put((byte) slot);
+                }
+            }
+        }
+        buffer.putInt(lengthAt, buffer.position() - lengthAt - 4);
+    }
+
+    /**
+     * Reads a save record at the buffer's position and moves past it.
+     * @param buffer source positioned at a record
+     * @return a new model in the saved state
+     * @throws IOException if the record is not a valid save of this version
+     */
+    public static UnoModel read(ByteBuffer buffer) throws IOException {
+        try {
+            int length = readHeader(buffer);
+            check(length <= buffer.remaining(), "length");
+            int end = buffer.position() + length;
+
+            int flags = buffer.get();
+            long seed = buffer.getLong();
+            long randomState = buffer.getLong();
+            int players = buffer.get() & 0xFF;
+            int current = buffer.get() & 0xFF;
+            int direction = buffer.get();
+            int top = buffer.get() & 0xFF;
+            int wild = buffer.get() & 0xFF;
+            check((current < players || current == 0) && (direction == 1 || direction == -1)
+                    && (top < UnoModel.Card.HAND_SLOTS || top == NO_CARD) && wild <= UnoModel.Colours.values().length
+                    && (wild == 0 || top != NO_CARD && UnoModel.Card.ofIndex(top).getColour() == null), "turn state");
+
+            UnoModel model = new UnoModel();
+            if ((flags & SEEDED) != 0) {
+                model.setRandomState(seed, randomState);
+            }
+            int[] counts = new int[UnoModel.Card.HAND_SLOTS];
+            for (int p = 0; p < players; p++) {
+                byte[] name = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(name);
+                String playerName = new String(name, StandardCharsets.UTF_8);
+                model.addPlayer(playerName);
+                model.setFinalScore(playerName, buffer.getInt());
+
+                Arrays.fill(counts, 0);
+                for (int n = buffer.getShort() & 0xFFFF; n > 0; n--) {
+                    int slot = buffer.get() & 0xFF;
+                    check(slot < UnoModel.Card.HAND_SLOTS, "card");
+                    counts[slot]++;
+                }
+                model.getPlayer(p).setHand(counts, 0);
+            }
+            check(buffer.position() <= end, "length");
+            buffer.position(end);
+
+            model.setTurn(top == NO_CARD ? null : UnoModel.Card.ofIndex(top),
+                    wild == 0 ? null : UnoModel.Colours.values()[wild - 1], current, direction);
+            return model;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated UNO save", e);
+        }
+    }
+
+    /**
+     * Saves a game to a channel with a single write.
+     * @param model game to save (only read)
+     * @param channel destination, e.g. a {@link FileChannel} or socket
+     * @throws IOException if the channel cannot be written
+     */
+    public static void save(UnoModel model, WritableByteChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size(model));
+        write(model, buffer);
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Loads a game saved by {@link #save(UnoModel, WritableByteChannel)}, reading exactly one record.
+     * @param channel source positioned at a record
+     * @return a new model in the saved state
+     * @throws IOException if the channel cannot be read or does not hold a valid save
+     */
+    public static UnoModel load(ReadableByteChannel channel) throws IOException {
+        ByteBuffer header = readFully(channel, ByteBuffer.allocate(HEADER_SIZE)).flip();
+        int length = readHeader(header);
+        if (channel instanceof SeekableByteChannel file) {
+            check(length <= file.size() - file.position(), "length");       // Before allocating for it
+        }
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + length);
+        record.put(header.rewind());
+        readFully(channel, record);
+        return read(record.flip());
+    }
+
+    /**
+     * Saves a game to a file, replacing it.
+     * @param model game to save (only read)
+     * @param path file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void save(UnoModel model, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            save(model, channel);
+        }
+    }
+
+    /**
+     * Loads a game saved by {@link #save(UnoModel, Path)}.
+     * @param path file to read
+     * @return a new model in the saved state
+     * @throws IOException if the file cannot be read or is not a valid save
+     */
+    public static UnoModel load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return load(channel);
+        }
+    }
+
+    /**
+     * Saves many games into one archive file, written through a single memory mapping.
+     * @param models games to save (only read)
+     * @param path archive file to write, replaced if it exists
+     * @throws IOException if the file cannot be written or would exceed 2 GB
+     */
+    public static void saveAll(List<UnoModel> models, Path path) throws IOException {
+        int count = models.size();
+        long total = HEADER_SIZE + 4L * (count + 1);
+        int[] offsets = new int[count + 1];
+        for (int i = 0; i < count; i++) {
+            offsets[i] = (int) total;
+            total += size(models.get(i));
+            if (total > Integer.MAX_VALUE) {
+                throw new IOException("Archive too large for one mapping: " + path);
+            }
+        }
+        offsets[count] = (int) total;
+
+        Files.deleteIfExists(path);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, total);
+            buffer.putInt(ARCHIVE_MAGIC).putInt(VERSION).putInt(count);
+            for (int offset : offsets) {
+                buffer.putInt(offset);
+            }
+            for (UnoModel model : models) {
+                write(model, buffer);
+            }
+        }
+    }
+
+    /**
+     * Loads every game of an archive written by {@link #saveAll(List, Path)}.
+     * @param path archive file
+     * @return new models in the saved states, in archive order
+     * @throws IOException if the file cannot be read or is not a valid archive
+     */
+    public static List<UnoModel> loadAll(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = mapArchive(channel, path);
+            int count = buffer.getInt(8);
+            List<UnoModel> models = new ArrayList<>(count);
+            buffer.position(recordOffset(buffer, 0));
+            for (int i = 0; i < count; i++) {
+                models.add(read(buffer));
+            }
+            return models;
+        }
+    }
+
+    /**
+     * Loads one game of an archive without reading the others.
+     * @param path archive file
+     * @param index position of the game in the archive
+     * @return a new model in the saved state
+     * @throws IOException if the file cannot be read or is not a valid archive
+     * @throws IndexOutOfBoundsException if the archive holds no such game
+     */
+    public static UnoModel load(Path path, int index) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = mapArchive(channel, path);
+            return read(buffer.position(recordOffset(buffer, Objects.checkIndex(index, buffer.getInt(8)))));
+        }
+    }
+
+    /** Maps an archive read-only and checks its header. */
+    private static ByteBuffer mapArchive(FileChannel channel, Path path) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt(0) != ARCHIVE_MAGIC) {
+            throw new IOException("Not an UNO archive: " + path);
+        }
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported archive version " + version + ": " + path);
+        }
+        int count = buffer.getInt(8);
+        if (count < 0 || buffer.remaining() < HEADER_SIZE + 4L * (count + 1)) {
+            throw new IOException("Truncated UNO archive: " + path);
+        }
+        return buffer;
+    }
+
+    /** @return offset of an archive's record, checked to lie within the archive */
+    private static int recordOffset(ByteBuffer archive, int index) throws IOException {
+        int offset = archive.getInt(HEADER_SIZE + 4 * index);
+        check(offset >= HEADER_SIZE && offset <= archive.limit(), "record offset");
+        return offset;
+    }
+
+    /**
+     * Checks a record header and moves past it.
+     * @return length of the record body
+     */
+    private static int readHeader(ByteBuffer buffer) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not an UNO save");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported save version " + version);
+        }
+        int length = buffer.getInt();
+        check(length >= FIXED_SIZE && length <= MAX_LENGTH, "length");
+        return length;
+    }
+
+    private static void check(boolean valid, String what) throws IOException {
+        if (!valid) {
+            throw new IOException("Corrupt UNO save: invalid " + what);
+        }
+    }
+
+    /** Reads until the buffer is full. */
+    private static ByteBuffer readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new IOException("Truncated UNO save");
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Saves and reloads an archive of simulated games and prints the time per game.
+     * Usage: {@code java UnoSaveFile [games]}
+     */
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        List<UnoModel> models = new ArrayList<>(games);
+        UnoSimulator simulator = UnoSimulator.automatic(4);
+        for (int i = 0; i < games; i++) {
+            UnoModel model = new UnoModel(UnoSimulator.gameSeed(7, i));
+            for (int p = 1; p <= simulator.getPlayerCount(); p++) {
+                model.addPlayer("Player" + p);
+            }
+            model.newRound();
+            for (int turn = i % 40; turn > 0 && simulator.playTurn(model) == null; turn--) {
+                // play on
+            }
+            models.add(model);
+        }
+
+        Path archive = Files.createTempFile("uno-archive", ".bin");
+        try {
+            for (int run = 0; run < 5; run++) {
+                long start = System.nanoTime();
+                saveAll(models, archive);
+                long saved = System.nanoTime();
+                List<UnoModel> loaded = loadAll(archive);
+                long end = System.nanoTime();
+                System.out.printf("%d games, %d bytes: save %.2f us/game, load %.2f us/game%n", loaded.size(),
+                        Files.size(archive), (saved - start) / 1e3 / games, (end - saved) / 1e3 / games);
+            }
+        } finally {
+            Files.delete(archive);
+        }
+    }
+}
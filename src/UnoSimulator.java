@@ -0,0 +1,400 @@
+/**
+ * Headless game engine that plays complete UNO matches without UnoFrame.
+ * <p>
+ * UnoSimulator drives an {@link UnoModel} directly with one {@link UnoStrategy}
+ * per seat, following the same turn rules as {@link UnoController}:
+ * a player either plays a legal card (applying its effect) or draws one card,
+ * and then the turn advances unless the card effect already advanced it.
+ * Rounds are scored with {@link UnoModel#getScore(UnoModel.Player)} and the
+ * match ends when {@link UnoModel#checkWinner(UnoModel.Player)} reports a winner.
+ * </p>
+ * <p>
+ * No AWT/Swing classes are touched, so it runs on display-less machines
+ * (e.g. {@code java -Djava.awt.headless=true UnoSimulator 100000 4}).
+ * Instances are not thread-safe; use one simulator per thread.
+ * </p>
+ */
+public class UnoSimulator {
+    /** Default safety limit on turns in a single round (draws are unbounded). */
+    public static final int DEFAULT_MAX_TURNS_PER_ROUND = 10_000;
+
+    /** One strategy per seat, in turn order. */
+    private final UnoStrategy[] strategies;
+
+    /** Rounds longer than this are abandoned and the game is counted as unfinished. */
+    private int maxTurnsPerRound = DEFAULT_MAX_TURNS_PER_ROUND;
+
+    /**
+     * Creates a simulator for a game with one seat per strategy.
+     * @param strategies strategies in seat order (2-4 players)
+     */
+    public UnoSimulator(UnoStrategy... strategies) {
+        if (strategies.length < 2) {
+            throw new IllegalArgumentException("At least two players are required");
+        }
+        this.strategies = strategies.clone();
+    }
+
+    /**
+     * Creates a simulator where every seat is an {@link AutoPlayer}.
+     * @param playerCount number of players
+     * @return a simulator with automatic players only
+     */
+    public static UnoSimulator automatic(int playerCount) {
+        UnoStrategy[] strategies = new UnoStrategy[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            strategies[i] = new AutoPlayer();
+        }
+        return new UnoSimulator(strategies);
+    }
+
+    /** @param maxTurnsPerRound limit after which a round is abandoned */
+    public void setMaxTurnsPerRound(int maxTurnsPerRound) {
+        this.maxTurnsPerRound = maxTurnsPerRound;
+    }
+
+    /** @return number of seats in each game */
+    public int getPlayerCount() {
+        return strategies.length;
+    }
+
+    /**
+     * Releases what the strategies hold (see {@link UnoBots#close(UnoStrategy)}),
+     * e.g. the worker threads of {@link UnoMcts} seats. The simulator must not be used afterwards.
+     */
+    public void close() {
+        for (UnoStrategy strategy : strategies) {
+            UnoBots.close(strategy);
+        }
+    }
+
+    /**
+     * Plays one complete match on a fresh model seeded with the given seed.
+     * @param seed seed for the model's random source
+     * @return the result of the match
+     */
+    public GameResult playGame(long seed) {
+        UnoModel model = new UnoModel(seed);
+        for (int i = 1; i <= strategies.length; i++) {
+            model.addPlayer("Player" + i);
+        }
+        return playGame(model);
+    }
+
+    /**
+     * Plays one complete match on the given model, which must already hold one
+     * player per strategy. A new round is dealt before the first turn.
+     * @param model the model to drive
+     * @return the result of the match
+     */
+    public GameResult playGame(UnoModel model) {
+        if (model.getPlayerCount() != strategies.length) {
+            throw new IllegalArgumentException("Model has " + model.getPlayerCount() + " players, expected " + strategies.length);
+        }
+        int rounds = 0;
+        int turns = 0;
+        model.newRound();
+
+        while (true) {
+            rounds++;
+            int roundTurns = 0;
+            UnoModel.Player winner = null;
+            while (winner == null) {
+                if (roundTurns++ == maxTurnsPerRound) {
+                    return new GameResult(-1, 0, rounds, turns);
+                }
+                turns++;
+                winner = playTurn(model);
+            }
+
+            if (model.checkWinner(winner)) {
+                int seat = seatOf(model, winner);
+                return new GameResult(seat, model.getFinalScore(winner.getName()), rounds, turns);
+            }
+            model.newRound();
+        }
+    }
+
+    /**
+     * Plays the current player's turn: the chosen card (with its effect) or a draw,
+     * followed by the turn advance. A card the player does not hold, or cannot
+     * play, is taken as a draw.
+     * @param model the model to drive
+     * @return the player who emptied their hand this turn, or null if the round continues
+     */
+    public UnoModel.Player playTurn(UnoModel model) {
+        UnoModel.Player player = model.getCurrPlayer();
+        UnoStrategy strategy = strategies[model.getCurrPlayerIndex()];
+        UnoModel.Card card = strategy.chooseCard(model);
+
+        // Handle Draw Card: the drawn card cannot be played this turn
+        if (card == null || player.getCount(card.getHandSlot()) == 0 || !model.isPlayable(card)) {
+            model.drawCard();
+            model.advance();
+            return null;
+        }
+
+        model.playCard(card);
+        boolean isAdvanced = false;
+        switch (card.getValue()) {
+            case DRAW_ONE -> model.drawOne();                             // Next player draws one
+            case REVERSE -> model.reverse();                              // Reverse turn order
+            case SKIP -> {
+                model.skip();                                             // Skip already advances the turn
+                isAdvanced = true;
+            }
+            case WILD -> model.wild(strategy.chooseColour(model));
+            case WILD_DRAW_TWO -> {
+                model.wildDrawTwo(strategy.chooseColour(model));          // Draw 2 + skip already advances the turn
+                isAdvanced = true;
+            }
+            default -> { }
+        }
+
+        if (player.getHandSize() == 0) {
+            return player;
+        }
+        if (!isAdvanced) {
+            model.advance();
+        }
+        return null;
+    }
+
+    /**
+     * Plays a batch of matches sequentially, seeding each from the given seed.
+     * @param games number of matches to play
+     * @param seed base seed; each game gets its own split stream seed
+     * @return accumulated statistics, including elapsed time
+     */
+    public Stats run(int games, long seed) {
+        Stats stats = new Stats(strategies.length);
+        long start = System.nanoTime();
+        run(seed, 0, games, stats);
+        stats.elapsedNanos += System.nanoTime() - start;
+        return stats;
+    }
+
+    /**
+     * Plays the games with indices {@code [from, to)} of a seeded batch into the given stats.
+     * Game {@code i} always uses {@link #gameSeed(long, long) gameSeed(seed, i)}, so any
+     * split of the index range produces the same games.
+     * @param seed base seed of the batch
+     * @param from first game index (inclusive)
+     * @param to last game index (exclusive)
+     * @param stats accumulator receiving the results
+     */
+    public void run(long seed, long from, long to, Stats stats) {
+        for (long i = from; i < to; i++) {
+            stats.add(playGame(gameSeed(seed, i)));
+        }
+    }
+
+    /**
+     * Seed of game {@code index} in a batch: the index-th value of
+     * {@code new SplittableRandom(seed).nextLong()}, computed in O(1).
+     * @param seed base seed of the batch
+     * @param index game index within the batch
+     * @return independent seed for that game
+     */
+    public static long gameSeed(long seed, long index) {
+        long z = seed + (index + 1) * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /** @return seat index of the given player in the model */
+    private static int seatOf(UnoModel model, UnoModel.Player player) {
+        for (int i = 0; i < model.getPlayerCount(); i++) {
+            if (model.getPlayer(i) == player) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Outcome of one simulated match.
+     * @param winner seat index of the match winner, or -1 if the game was abandoned
+     * @param winnerScore cumulative score of the winner
+     * @param rounds rounds played
+     * @param turns turns played across all rounds
+     */
+    public record GameResult(int winner, int winnerScore, int rounds, int turns) {
+        /** @return true if the match reached a winner */
+        public boolean isFinished() {
+            return winner >= 0;
+        }
+    }
+
+    /**
+     * Mutable accumulator of match results. Instances are not shared between
+     * threads; partial results are combined with {@link #merge(Stats)}.
+     */
+    public static class Stats {
+        private final long[] wins;
+        private long games;
+        private long unfinished;
+        private long totalWinnerScore;
+        private long totalRounds;
+        private long totalTurns;
+        private long elapsedNanos;
+
+        /** @param playerCount number of seats tracked */
+        public Stats(int playerCount) {
+            wins = new long[playerCount];
+        }
+
+        /** Records one match result. */
+        public void add(GameResult result) {
+            games++;
+            totalRounds += result.rounds();
+            totalTurns += result.turns();
+            if (result.isFinished()) {
+                wins[result.winner()]++;
+                totalWinnerScore += result.winnerScore();
+            } else {
+                unfinished++;
+            }
+        }
+
+        /**
+         * Adds another accumulator's counts into this one.
+         * @param other partial results (e.g. from another worker)
+         * @return this accumulator
+         */
+        public Stats merge(Stats other) {
+            for (int i = 0; i < wins.length; i++) {
+                wins[i] += other.wins[i];
+            }
+            games += other.games;
+            unfinished += other.unfinished;
+            totalWinnerScore += other.totalWinnerScore;
+            totalRounds += other.totalRounds;
+            totalTurns += other.totalTurns;
+            elapsedNanos = Math.max(elapsedNanos, other.elapsedNanos);
+            return this;
+        }
+
+        /** @return number of matches recorded */
+        public long getGames() { return games; }
+
+        /** @return number of matches abandoned at the turn limit */
+        public long getUnfinished() { return unfinished; }
+
+        /**
+         * @param seat seat index
+         * @return matches won by that seat
+         */
+        public long getWins(int seat) { return wins[seat]; }
+
+        /** @return average final score of match winners */
+        public double getAverageScore() {
+            long finished = games - unfinished;
+            return finished == 0 ? 0 : (double) totalWinnerScore / finished;
+        }
+
+        /** @return average number of turns per match */
+        public double getAverageTurns() {
+            return games == 0 ? 0 : (double) totalTurns / games;
+        }
+
+        /** @return average number of rounds per match */
+        public double getAverageRounds() {
+            return games == 0 ? 0 : (double) totalRounds / games;
+        }
+
+        /** @return wall-clock time spent playing, in nanoseconds */
+        public long getElapsedNanos() { return elapsedNanos; }
+
+        /** @param elapsedNanos wall-clock time spent playing, in nanoseconds */
+        public void setElapsedNanos(long elapsedNanos) { this.elapsedNanos = elapsedNanos; }
+
+        /** @return matches played per second of wall-clock time */
+        public double getGamesPerSecond() {
+            return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%d games in %.1f ms (%.0f games/s), avg %.1f rounds, %.1f turns, winner score %.1f",
+                    games, elapsedNanos / 1e6, getGamesPerSecond(), getAverageRounds(), getAverageTurns(), getAverageScore()));
+            for (int i = 0; i < wins.length; i++) {
+                sb.append(String.format("%n  Player%d wins: %d", i + 1, wins[i]));
+            }
+            if (unfinished > 0) {
+                sb.append(String.format("%n  Unfinished: %d", unfinished));
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Automatic player: plays the first legal card in hand (drawing otherwise)
+     * and picks the colour it holds most of for wilds.
+     */
+    public static class AutoPlayer implements UnoStrategy {
+        private static final UnoModel.Colours[] COLOURS = UnoModel.Colours.values();
+
+        @Override
+        public UnoModel.Card chooseCard(UnoModel model) {
+            long playable = model.getPlayableMask();
+            if (playable == 0) {
+                return null;
+            }
+            return UnoModel.Card.ofIndex(Long.numberOfTrailingZeros(playable));
+        }
+
+        @Override
+        public UnoModel.Colours chooseColour(UnoModel model) {
+            UnoModel.Player player = model.getCurrPlayer();
+            int best = 0;
+            int bestCount = -1;
+            // Coloured slots are laid out as colour * 13 + value
+            for (int colour = 0; colour < 4; colour++) {
+                int count = 0;
+                for (int slot = colour * 13; slot < colour * 13 + 13; slot++) {
+                    count += player.getCount(slot);
+                }
+                if (count > bestCount) {
+                    best = colour;
+                    bestCount = count;
+                }
+            }
+            return COLOURS[best];
+        }
+    }
+
+    /**
+     * Runs a batch of games and prints throughput and wins per seat. Seats are
+     * automatic players, or the given bots (see {@link UnoBots#byName(String, long)}),
+     * one per seat; with bots the player count must match the number of bots.
+     * Usage: {@code UnoSimulator [games] [players] [seed] [bot,bot,...]}
+     * @throws IllegalArgumentException if the player count and the bot list disagree
+     */
+    public static void main(String[] args) {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+
+        UnoSimulator simulator = automatic(players);
+        if (args.length > 3) {
+            String[] names = args[3].split(",");
+            if (names.length != players) {
+                throw new IllegalArgumentException(players + " players requested but " + names.length + " bots given: " + args[3]);
+            }
+            UnoStrategy[] bots = new UnoStrategy[names.length];
+            for (int i = 0; i < names.length; i++) {
+                bots[i] = UnoBots.byName(names[i], gameSeed(seed, -1 - i));
+            }
+            simulator = new UnoSimulator(bots);
+        }
+        try {
+            simulator.run(Math.max(1, games / 10), seed);   // warm-up
+            System.out.println(simulator.run(games, seed));
+        } finally {
+            simulator.close();
+        }
+    }
+}
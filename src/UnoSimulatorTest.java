@@ -0,0 +1,249 @@
+/**
+ * JUnit Tests for UnoSimulator
+ *
+ * This test suite verifies:
+ *  - Complete headless games reach a match winner
+ *  - Games are reproducible from their seed
+ *  - Scripted strategies drive the model through card effects
+ *  - Built-in bots only make legal moves and follow their policies
+ *  - UnoState applies the same rules as the model, and ISMCTS finds winning moves
+ */
+
+import org.junit.*;
+import static org.junit.Assert.*;
+
+public class UnoSimulatorTest {
+
+  /** An automatic game must end with a winner holding at least 500 points. */
+  @Test
+  public void testGameReachesWinner() {
+    UnoSimulator simulator = UnoSimulator.automatic(3);
+    UnoSimulator.GameResult result = simulator.playGame(1234L);
+
+    assertTrue(result.isFinished());
+    assertTrue(result.winnerScore() >= 500);
+    assertTrue(result.rounds() >= 1);
+  }
+
+  /** The same seed must replay exactly the same game. */
+  @Test
+  public void testSeedReplaysGame() {
+    UnoSimulator simulator = UnoSimulator.automatic(4);
+    assertEquals(simulator.playGame(99L), simulator.playGame(99L));
+  }
+
+  /** run() must record every game and report throughput. */
+  @Test
+  public void testRunStats() {
+    UnoSimulator.Stats stats = UnoSimulator.automatic(2).run(20, 5L);
+
+    assertEquals(20, stats.getGames());
+    assertEquals(20, stats.getWins(0) + stats.getWins(1) + stats.getUnfinished());
+    assertTrue(stats.getGamesPerSecond() > 0);
+  }
+
+  /** A scripted wild-draw-two must recolour, give two cards and skip the next player. */
+  @Test
+  public void testScriptedWildDrawTwo() {
+    UnoModel model = new UnoModel(3L);
+    model.addPlayer("A");
+    model.addPlayer("B");
+    model.addPlayer("C");
+    model.newRound();
+
+    UnoModel.Card wd2 = UnoModel.Card.of(null, UnoModel.Values.WILD_DRAW_TWO);
+    model.getCurrPlayer().addCard(wd2);
+    UnoStrategy scripted = new UnoStrategy() {
+      public UnoModel.Card chooseCard(UnoModel m) { return wd2; }
+      public UnoModel.Colours chooseColour(UnoModel m) { return UnoModel.Colours.YELLOW; }
+    };
+    UnoSimulator simulator = new UnoSimulator(scripted, scripted, scripted);
+
+    assertNull(simulator.playTurn(model));
+    assertEquals(UnoModel.Colours.YELLOW, model.getTopCard().getColour());
+    assertEquals(9, model.getPlayer(1).getPersonalDeck().size());
+    assertEquals("C", model.getCurrPlayer().getName());
+  }
+
+  /** A playable card the player does not hold must be taken as a draw, not played. */
+  @Test
+  public void testScriptedUnheldCardDraws() {
+    UnoModel model = new UnoModel(3L);
+    model.addPlayer("A");
+    model.addPlayer("B");
+    model.newRound();
+
+    UnoModel.Card redFive = UnoModel.Card.of(UnoModel.Colours.RED, UnoModel.Values.FIVE);
+    UnoModel.Card redSkip = UnoModel.Card.of(UnoModel.Colours.RED, UnoModel.Values.SKIP);
+    model.setTopCard(redFive);
+    model.getCurrPlayer().clearHand();
+    model.getCurrPlayer().addCard(UnoModel.Card.of(UnoModel.Colours.BLUE, UnoModel.Values.ONE));
+    UnoStrategy scripted = new UnoStrategy() {
+      public UnoModel.Card chooseCard(UnoModel m) { return redSkip; }
+      public UnoModel.Colours chooseColour(UnoModel m) { return UnoModel.Colours.RED; }
+    };
+    UnoSimulator simulator = new UnoSimulator(scripted, scripted);
+
+    assertTrue(model.isPlayable(redSkip));
+    assertNull(simulator.playTurn(model));
+    assertEquals(redFive, model.getTopCard());
+    assertEquals(2, model.getPlayer(0).getHandSize());           // Drew instead
+    assertEquals("B", model.getCurrPlayer().getName());          // A skip would have come back to A
+  }
+
+  /** gameSeed() must match the sequence of a SplittableRandom seeded with the base seed. */
+  @Test
+  public void testGameSeedMatchesSplittableRandom() {
+    java.util.SplittableRandom seeds = new java.util.SplittableRandom(17L);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(seeds.nextLong(), UnoSimulator.gameSeed(17L, i));
+    }
+  }
+
+  /** A parallel tournament must produce the same totals as a sequential run. */
+  @Test
+  public void testTournamentMatchesSequential() {
+    UnoSimulator.Stats sequential = UnoSimulator.automatic(3).run(600, 11L);
+    UnoSimulator.Stats parallel = new UnoTournament(3, () -> UnoSimulator.automatic(3)).run(600, 11L, 4);
+
+    assertEquals(sequential.getGames(), parallel.getGames());
+    for (int seat = 0; seat < 3; seat++) {
+      assertEquals(sequential.getWins(seat), parallel.getWins(seat));
+    }
+    assertEquals(sequential.getAverageTurns(), parallel.getAverageTurns(), 1e-9);
+    assertEquals(sequential.getAverageScore(), parallel.getAverageScore(), 1e-9);
+  }
+
+  /** Every built-in bot must only choose held, playable cards and finish its games. */
+  @Test
+  public void testBotsPlayLegalMoves() {
+    for (String name : new String[] {"random", "greedy", "hoard"}) {
+      UnoStrategy bot = UnoBots.byName(name, 7L);
+      UnoStrategy checked = new UnoStrategy() {
+        public UnoModel.Card chooseCard(UnoModel m) {
+          UnoModel.Card card = bot.chooseCard(m);
+          if (card == null) {
+            assertEquals(0, m.getPlayableMask());
+          } else {
+            assertTrue(m.getCurrPlayer().getCount(card.getHandSlot()) > 0);
+            assertTrue(m.isPlayable(card));
+          }
+          return card;
+        }
+        public UnoModel.Colours chooseColour(UnoModel m) {
+          UnoModel.Colours colour = bot.chooseColour(m);
+          assertNotNull(colour);
+          return colour;
+        }
+      };
+      UnoSimulator.Stats stats = new UnoSimulator(checked, UnoBots.byName(name, 8L)).run(20, 3L);
+      assertEquals(name, 0, stats.getUnfinished());
+    }
+  }
+
+  /** The greedy bot plays its most valuable card; the hoarding bot sheds its scarcest colour first. */
+  @Test
+  public void testBotPolicies() {
+    UnoModel model = new UnoModel(5L);
+    model.addPlayer("A");
+    model.addPlayer("B");
+    model.newRound();
+    UnoModel.Player player = model.getCurrPlayer();
+    player.clearHand();
+    model.setTopCard(UnoModel.Card.of(UnoModel.Colours.RED, UnoModel.Values.FIVE));
+    UnoModel.Card redTwo = UnoModel.Card.of(UnoModel.Colours.RED, UnoModel.Values.TWO);
+    UnoModel.Card redSkip = UnoModel.Card.of(UnoModel.Colours.RED, UnoModel.Values.SKIP);
+    UnoModel.Card blueFive = UnoModel.Card.of(UnoModel.Colours.BLUE, UnoModel.Values.FIVE);
+    player.addCard(redTwo);
+    player.addCard(redSkip);
+    player.addCard(blueFive);
+    player.addCard(UnoModel.Card.of(UnoModel.Colours.RED, UnoModel.Values.NINE));
+
+    assertSame(redSkip, new UnoBots.GreedyPoints().chooseCard(model));
+    assertSame(blueFive, new UnoBots.ColourHoarding().chooseCard(model));
+    assertEquals(UnoModel.Colours.RED, new UnoBots.ColourHoarding().chooseColour(model));
+  }
+
+  /** A state stepped with the automatic player's moves must stay equal to the model it was taken from. */
+  @Test
+  public void testStateFollowsModelRules() {
+    UnoModel model = new UnoModel(21L);
+    for (int p = 1; p <= 3; p++) {
+      model.addPlayer("Player" + p);
+    }
+    model.newRound();
+    UnoState state = UnoState.of(model);
+    model.setRandom(new java.util.SplittableRandom(4L));
+    java.util.SplittableRandom stateRandom = new java.util.SplittableRandom(4L);
+    UnoSimulator simulator = UnoSimulator.automatic(3);
+
+    for (int turn = 0; turn < 300; turn++) {
+      long playable = state.getPlayableMask();
+      assertEquals(model.getPlayableMask(), playable);
+      int slot = playable == 0 ? UnoState.DRAW : Long.numberOfTrailingZeros(playable);
+      int winner = state.playTurn(slot, state.getMostHeldColour(state.getCurrent()), stateRandom);
+      UnoModel.Player modelWinner = simulator.playTurn(model);
+
+      if (modelWinner == null) {
+        assertEquals(-1, winner);
+      } else {
+        assertSame(modelWinner, model.getPlayer(winner));
+      }
+      assertEquals(model.getCurrPlayerIndex(), state.getCurrent());
+      assertEquals(model.getTopCard().getIndex(), state.getTopIndex());
+      for (int p = 0; p < 3; p++) {
+        assertEquals(model.getPlayer(p).getPoints(), state.getPoints(p));
+        for (int s = 0; s < UnoState.SLOTS; s++) {
+          assertEquals(model.getPlayer(p).getCount(s), state.getCount(p, s));
+        }
+      }
+      if (winner >= 0) {
+        assertEquals(model.getScore(modelWinner), state.getRoundScore(winner));
+        break;
+      }
+    }
+  }
+
+  /** A state needs a dealt round, and only plays cards the current player holds. */
+  @Test
+  public void testStateRejectsInvalidUse() {
+    UnoModel model = new UnoModel(3L);
+    model.addPlayer("A");
+    model.addPlayer("B");
+    try {
+      UnoState.of(model);
+      fail("No round dealt");
+    } catch (IllegalStateException expected) {
+      // expected
+    }
+    model.newRound();
+    UnoState state = UnoState.of(model);
+    int missing = Long.numberOfTrailingZeros(~model.getCurrPlayer().getPresenceMask());
+    try {
+      state.playTurn(missing, 0, new java.util.SplittableRandom(1L));
+      fail("Slot not held");
+    } catch (IllegalArgumentException expected) {
+      // expected
+    }
+    assertEquals(UnoState.of(model), state);
+  }
+
+  /** With one playable card left, the search must play it and win the round. */
+  @Test
+  public void testMctsPlaysWinningCard() {
+    UnoModel model = new UnoModel(6L);
+    model.addPlayer("A");
+    model.addPlayer("B");
+    model.newRound();
+    model.getCurrPlayer().clearHand();
+    model.setTopCard(UnoModel.Card.of(UnoModel.Colours.GREEN, UnoModel.Values.THREE));
+    UnoModel.Card greenSeven = UnoModel.Card.of(UnoModel.Colours.GREEN, UnoModel.Values.SEVEN);
+    model.getCurrPlayer().addCard(greenSeven);
+
+    try (UnoMcts mcts = new UnoMcts(2, 2_000, 0, 1L)) {
+      assertSame(greenSeven, mcts.chooseCard(model));
+      assertEquals(2_000, mcts.getLastPlayouts());
+      assertTrue(mcts.getPlayoutsPerSecond() > 0);
+    }
+  }
+}
@@ -0,0 +1,216 @@
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Paints game states into images without a display.
+ * <p>
+ * Each snapshot is drawn by an offscreen {@link UnoFrame} board (see
+ * {@link UnoFrame#offscreen(UnoImageCache, List)}), so it has exactly the
+ * window's layout: current player, status message, scoreboard, top card and
+ * the current player's hand. Boards are never shown; they are laid out and
+ * printed into a {@link BufferedImage}, which works under
+ * {@code java.awt.headless=true} and on any thread.
+ * </p>
+ * <p>
+ * A {@link Canvas} renders on one thread and reuses its board and image from
+ * snapshot to snapshot. {@link #renderAll(List, int, ObjIntConsumer)} renders a
+ * batch of states in parallel with one canvas per worker thread; all canvases
+ * share the renderer's (thread-safe) {@link UnoImageCache}, so each card face
+ * is scaled once per size for the whole batch.
+ * </p>
+ */
+public class UnoSnapshotRenderer {
+    /** Default snapshot width, the size of the game window. */
+    public static final int DEFAULT_WIDTH = 1000;
+
+    /** Default snapshot height, the size of the game window. */
+    public static final int DEFAULT_HEIGHT = 700;
+
+    /** Card images shared by every canvas. */
+    private final UnoImageCache imageCache;
+
+    /** Snapshot size in pixels. */
+    private final int width;
+    private final int height;
+
+    /** Creates a renderer producing window-sized snapshots, with its own image cache. */
+    public UnoSnapshotRenderer() {
+        this(new UnoImageCache(128), DEFAULT_WIDTH, DEFAULT_HEIGHT);
+    }
+
+    /**
+     * Creates a renderer.
+     * @param imageCache card images, possibly shared with other renderers or the game window
+     * @param width snapshot width in pixels
+     * @param height snapshot height in pixels
+     */
+    public UnoSnapshotRenderer(UnoImageCache imageCache, int width, int height) {
+        this.imageCache = imageCache;
+        this.width = width;
+        this.height = height;
+        if (imageCache.size() == 0) {
+            imageCache.setAtlas(UnoCardAtlas.loadDefault());
+        }
+    }
+
+    /** @return a new canvas, to be used by a single thread */
+    public Canvas newCanvas() {
+        return new Canvas();
+    }
+
+    /**
+     * Renders one game state into a new image.
+     * @param model the state to draw (only read)
+     * @param status status message to show
+     * @return the snapshot
+     */
+    public BufferedImage render(UnoModel model, String status) {
+        return newCanvas().render(model, status);
+    }
+
+    /**
+     * Renders game states in parallel. Each worker thread draws with its own
+     * canvas and hands every snapshot to the sink, on that worker thread,
+     * before drawing its next one into the same image; a sink that keeps
+     * snapshots must copy them.
+     * @param models the states to draw (only read; each state must not be changed during the call)
+     * @param threads worker threads
+     * @param sink receives each snapshot with the index of its state
+     * @return elapsed wall-clock time in nanoseconds
+     */
+    public long renderAll(List<UnoModel> models, int threads, ObjIntConsumer<BufferedImage> sink) {
+        ExecutorService workers = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "uno-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            long start = System.nanoTime();
+            AtomicInteger next = new AtomicInteger();
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(workers.submit(() -> {
+                    Canvas canvas = newCanvas();
+                    for (int i = next.getAndIncrement(); i < models.size(); i = next.getAndIncrement()) {
+                        sink.accept(canvas.render(models.get(i), ""), i);
+                    }
+                }));
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+            return System.nanoTime() - start;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rendering snapshots", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Snapshot rendering failed", e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Offscreen board plus a reusable image. Not thread-safe.
+     */
+    public class Canvas {
+        private final UnoFrame frame = UnoFrame.offscreen(imageCache, List.of());
+        private final Container board = frame.getBoard();
+        private final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+
+        private Canvas() {
+            board.setSize(width, height);
+        }
+
+        /**
+         * Draws a game state.
+         * @param model the state to draw (only read)
+         * @param status status message to show
+         * @return this canvas's image, overwritten by the next call
+         */
+        public BufferedImage render(UnoModel model, String status) {
+            frame.showState(model, status);
+            layout(board);
+            frame.showState(model, status);                 // Top card is sized to its laid-out panel
+            layout(board);
+
+            Graphics2D g = image.createGraphics();
+            try {
+                board.printAll(g);
+            } finally {
+                g.dispose();
+            }
+            return image;
+        }
+    }
+
+    /**
+     * Lays out a component tree that has no peer (and so is not laid out by
+     * {@link Container#validate()}).
+     * @param component root of the tree
+     */
+    private static void layout(Component component) {
+        if (component instanceof Container container) {
+            container.doLayout();
+            for (Component child : container.getComponents()) {
+                layout(child);
+            }
+        }
+    }
+
+    /**
+     * Renders snapshots of simulated games in parallel and prints the frame
+     * rate; with an output directory, also writes them as PNG files.
+     * Usage: {@code java -Djava.awt.headless=true UnoSnapshotRenderer [snapshots] [threads] [outputDir]}
+     */
+    public static void main(String[] args) throws IOException {
+        int snapshots = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Path output = args.length > 2 ? Path.of(args[2]) : null;
+        if (output != null) {
+            Files.createDirectories(output);
+        }
+
+        // States a few turns into seeded games
+        List<UnoModel> models = new ArrayList<>(snapshots);
+        UnoSimulator simulator = UnoSimulator.automatic(4);
+        for (int i = 0; i < snapshots; i++) {
+            UnoModel model = new UnoModel(UnoSimulator.gameSeed(42, i));
+            for (int p = 1; p <= simulator.getPlayerCount(); p++) {
+                model.addPlayer("Player" + p);
+            }
+            model.newRound();
+            for (int turn = i % 20; turn > 0 && simulator.playTurn(model) == null; turn--) {
+                // play on
+            }
+            models.add(model);
+        }
+
+        UnoSnapshotRenderer renderer = new UnoSnapshotRenderer();
+        renderer.renderAll(models.subList(0, Math.min(100, snapshots)), threads, (image, i) -> { });   // warm-up
+        long nanos = renderer.renderAll(models, threads, (image, i) -> {
+            if (output != null) {
+                try {
+                    ImageIO.write(image, "png", output.resolve(String.format("snapshot-%05d.png", i)).toFile());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+        System.out.printf("%d snapshots of %dx%d on %d threads: %.1f snapshots/s (%s)%n",
+                snapshots, renderer.width, renderer.height, threads, snapshots / (nanos / 1e9), renderer.imageCache);
+    }
+}
@@ -0,0 +1,404 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Compact, copyable game state for search and simulation.
+ * <p>
+ * The state of a game is held in a few primitive arrays instead of the
+ * {@link UnoModel} object graph: per-player card counts by hand slot (one flat
+ * array), presence masks, hand sizes, point totals and cumulative scores, plus
+ * the current player, direction and effective top card (which carries a wild's
+ * chosen colour). Copying a state ({@link #copy()}, {@link #copyInto(UnoState)})
+ * is a handful of {@link System#arraycopy} calls, and
+ * {@link #playTurn(int, int, RandomGenerator)} applies a move with the same
+ * rules as {@link UnoSimulator#playTurn(UnoModel)} without allocating or
+ * notifying anyone.
+ * </p>
+ * <p>
+ * {@link #of(UnoModel)} captures a model and {@link #applyTo(UnoModel)} or
+ * {@link #toModel(List, long)} turn a state back into one. Player names,
+ * views, listeners, the random source and the order in which cards were
+ * drawn belong to the model and are not part of the state (a restored hand is
+ * listed by hand slot).
+ * </p>
+ * Cards are referred to by hand slot (see {@link UnoModel.Card#getHandSlot()}),
+ * colours by ordinal. Draws take a random generator so that every search
+ * thread can use its own. Like UnoModel, the draw pile is infinite:
+ * {@link #drawCard(int, RandomGenerator)} consumes random numbers exactly like
+ * {@link UnoModel#getRandomCard()}, so a model and a state drawing from
+ * identically seeded generators stay in step.
+ */
+public final class UnoState {
+    /** Hand slots per player. */
+    public static final int SLOTS = UnoModel.Card.HAND_SLOTS;
+
+    /** Pseudo-slot passed to {@link #playTurn(int, int, RandomGenerator)} to draw instead of playing. */
+    public static final int DRAW = -1;
+
+    /** Hand slot of the first wild (WILD, then WILD_DRAW_TWO). */
+    private static final int WILD_SLOT = 52;
+
+    /** Values per colour on coloured cards, and the number of card values overall. */
+    private static final int COLOURED_VALUES = 13;
+    private static final int VALUES = UnoModel.Values.values().length;
+    private static final UnoModel.Colours[] COLOUR_VALUES = UnoModel.Colours.values();
+    private static final int COLOURS = COLOUR_VALUES.length;
+
+    /** Point value of each hand slot. */
+    private static final int[] SLOT_POINTS = new int[SLOTS];
+
+    static {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            SLOT_POINTS[slot] = UnoModel.Card.ofIndex(slot).getPoints();
+        }
+    }
+
+    private final int players;
+    /** Card counts, {@code counts[player * SLOTS + slot]}. */
+    private final int[] counts;
+    /** Per player, bit s set when the player holds a card in slot s. */
+    private final long[] presence;
+    private final int[] handSizes;
+    private final int[] points;
+    /** Cumulative (match) score per player. */
+    private final int[] scores;
+    private int current;
+    private int direction = 1;
+    /** Pool index of the effective top card (recoloured for a wild with a chosen colour). */
+    private int top;
+
+    /**
+     * Creates an empty state.
+     * @param players number of players
+     */
+    public UnoState(int players) {
+        this.players = players;
+        counts = new int[players * SLOTS];
+        presence = new long[players];
+        handSizes = new int[players];
+        points = new int[players];
+        scores = new int[players];
+    }
+
+    /**
+     * Captures the state of a model: hands, turn, top card and cumulative scores.
+     * A round must have been dealt, as a state always has a top card.
+     * @param model the model (only read)
+     * @return a new state equal to the model's current game
+     * @throws IllegalStateException if the model has no top card yet
+     */
+    public static UnoState of(UnoModel model) {
+        if (model.getTopCard() == null) {
+            throw new IllegalStateException("No round has been dealt yet");
+        }
+        UnoState state = new UnoState(model.getPlayerCount());
+        for (int p = 0; p < state.players; p++) {
+            UnoModel.Player player = model.getPlayer(p);
+            for (int slot = 0; slot < SLOTS; slot++) {
+                state.counts[p * SLOTS + slot] = player.getCount(slot);
+            }
+            state.presence[p] = player.getPresenceMask();
+            state.handSizes[p] = player.getHandSize();
+            state.points[p] = player.getPoints();
+            state.scores[p] = model.getFinalScore(player.getName());
+        }
+        state.current = model.getCurrPlayerIndex();
+        state.direction = model.getDirection();
+        state.top = model.getTopCard().getIndex();
+        return state;
+    }
+
+    /**
+     * Builds a new model in this state.
+     * @param names player names in seat order
+     * @param seed seed of the new model's random source
+     * @return a new model equal to this state
+     */
+    public UnoModel toModel(List<String> names, long seed) {
+        if (names.size() != players) {
+            throw new IllegalArgumentException("Expected " + players + " player names, got " + names.size());
+        }
+        UnoModel model = new UnoModel(seed);
+        for (String name : names) {
+            model.addPlayer(name);
+        }
+        applyTo(model);
+        return model;
+    }
+
+    /**
+     * Overwrites the hands, turn, top card and cumulative scores of a model
+     * with this state, as one undoable step. Listeners receive STATE_RESTORED
+     * and views a single update.
+     * @param model model with the same number of players
+     */
+    public void applyTo(UnoModel model) {
+        if (model.getPlayerCount() != players) {
+            throw new IllegalArgumentException("Player count mismatch: " + model.getPlayerCount() + " != " + players);
+        }
+        model.restore(this);
+    }
+
+    /**
+     * Loads a player's hand from this state.
+     * @param player seat
+     * @param target player whose hand is replaced
+     */
+    void loadHand(int player, UnoModel.Player target) {
+        target.setHand(counts, player * SLOTS);
+    }
+
+    /** @return a new state equal to this one */
+    public UnoState copy() {
+        UnoState copy = new UnoState(players);
+        copyInto(copy);
+        return copy;
+    }
+
+    /**
+     * Overwrites another state of the same size with this one.
+     * @param target state to overwrite
+     */
+    public void copyInto(UnoState target) {
+        if (target.players != players) {
+            throw new IllegalArgumentException("Player count mismatch: " + target.players + " != " + players);
+        }
+        System.arraycopy(counts, 0, target.counts, 0, counts.length);
+        System.arraycopy(presence, 0, target.presence, 0, players);
+        System.arraycopy(handSizes, 0, target.handSizes, 0, players);
+        System.arraycopy(points, 0, target.points, 0, players);
+        System.arraycopy(scores, 0, target.scores, 0, players);
+        target.current = current;
+        target.direction = direction;
+        target.top = top;
+    }
+
+    /** Logical equality: same hands, scores, turn, direction and effective top card. */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UnoState other)) {
+            return false;
+        }
+        return players == other.players && current == other.current && direction == other.direction
+                && top == other.top && Arrays.equals(counts, other.counts) && Arrays.equals(scores, other.scores);
+    }
+
+    /** @return hash consistent with {@link #equals(Object)} */
+    @Override
+    public int hashCode() {
+        return 31 * (31 * (31 * Arrays.hashCode(counts) + Arrays.hashCode(scores)) + top) + current * direction;
+    }
+
+    // ---------------- Queries ----------------
+
+    /** @return number of players */
+    public int getPlayerCount() {
+        return players;
+    }
+
+    /** @return seat of the player to move */
+    public int getCurrent() {
+        return current;
+    }
+
+    /** @return +1 for clockwise, -1 for counterclockwise */
+    public int getDirection() {
+        return direction;
+    }
+
+    /** @return pool index of the effective top card (see {@link UnoModel.Card#ofIndex(int)}) */
+    public int getTopIndex() {
+        return top;
+    }
+
+    /**
+     * @param player seat
+     * @param slot hand slot
+     * @return copies of that card held by the player
+     */
+    public int getCount(int player, int slot) {
+        return counts[player * SLOTS + slot];
+    }
+
+    /**
+     * @param player seat
+     * @return number of cards held by the player
+     */
+    public int getHandSize(int player) {
+        return handSizes[player];
+    }
+
+    /**
+     * @param player seat
+     * @return point value of the player's hand
+     */
+    public int getPoints(int player) {
+        return points[player];
+    }
+
+    /** @return mask of the hand slots the current player can play */
+    public long getPlayableMask() {
+        return presence[current] & UnoModel.playableMask(top);
+    }
+
+    /**
+     * @param player seat
+     * @return ordinal of the colour the player holds most coloured cards of (lowest on ties)
+     */
+    public int getMostHeldColour(int player) {
+        int base = player * SLOTS;
+        int best = 0;
+        int bestCount = -1;
+        for (int colour = 0; colour < COLOURS; colour++) {
+            int count = 0;
+            for (int slot = colour * COLOURED_VALUES; slot < (colour + 1) * COLOURED_VALUES; slot++) {
+                count += counts[base + slot];
+            }
+            if (count > bestCount) {
+                best = colour;
+                bestCount = count;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @param player seat
+     * @return cumulative (match) score of the player
+     */
+    public int getScore(int player) {
+        return scores[player];
+    }
+
+    /**
+     * @param winner seat that emptied its hand
+     * @return the winner's round score: the points left in every other hand
+     */
+    public int getRoundScore(int winner) {
+        int score = 0;
+        for (int p = 0; p < players; p++) {
+            if (p != winner) {
+                score += points[p];
+            }
+        }
+        return score;
+    }
+
+    // ---------------- Rules ----------------
+
+    /**
+     * Adds one random card to a player's hand, drawn like {@link UnoModel#getRandomCard()}.
+     * @param player seat receiving the card
+     * @param random random source
+     */
+    public void drawCard(int player, RandomGenerator random) {
+        int value = random.nextInt(VALUES);
+        int slot = value < COLOURED_VALUES
+                ? random.nextInt(COLOURS) * COLOURED_VALUES + value
+                : WILD_SLOT + value - COLOURED_VALUES;
+        addCard(player, slot);
+    }
+
+    /**
+     * Replaces a player's hand with the same number of fresh random cards,
+     * e.g. to sample a hidden hand.
+     * @param player seat
+     * @param random random source
+     */
+    public void redeal(int player, RandomGenerator random) {
+        int size = handSizes[player];
+        Arrays.fill(counts, player * SLOTS, (player + 1) * SLOTS, 0);
+        presence[player] = 0;
+        handSizes[player] = 0;
+        points[player] = 0;
+        for (int i = 0; i < size; i++) {
+            drawCard(player, random);
+        }
+    }
+
+    /**
+     * Plays the current player's turn, following {@link UnoSimulator#playTurn(UnoModel)}:
+     * either draws a card, or plays a held, playable card and applies its effect;
+     * then the turn advances unless the card already advanced it.
+     * @param slot hand slot to play, or {@link #DRAW}
+     * @param colour ordinal of the colour named for a wild (ignored for other cards)
+     * @param random random source for drawn cards
+     * @return seat of the player who emptied their hand, or -1 if the round continues
+     * @throws IllegalArgumentException if the current player holds no card in the slot
+     */
+    public int playTurn(int slot, int colour, RandomGenerator random) {
+        if (slot == DRAW) {
+            drawCard(current, random);
+            advance(1);
+            return -1;
+        }
+        int player = current;
+        if (slot < 0 || slot >= SLOTS || (presence[player] >>> slot & 1L) == 0) {
+            throw new IllegalArgumentException("Player " + player + " holds no card in slot " + slot);
+        }
+        removeCard(player, slot);
+        boolean advanced = false;
+        switch (UnoModel.Card.ofIndex(slot).getValue()) {
+            case DRAW_ONE -> drawCard((current + 1) % players, random);     // As UnoModel.drawOne()
+            case REVERSE -> direction = -direction;
+            case SKIP -> {
+                advance(2);
+                advanced = true;
+            }
+            case WILD -> {
+                top = UnoModel.Card.indexOf(COLOUR_VALUES[colour], UnoModel.Values.WILD);
+                return endTurn(player, false);
+            }
+            case WILD_DRAW_TWO -> {
+                top = UnoModel.Card.indexOf(COLOUR_VALUES[colour], UnoModel.Values.WILD_DRAW_TWO);
+                int next = (current + direction + players) % players;
+                drawCard(next, random);
+                drawCard(next, random);
+                advance(2);
+                return endTurn(player, true);
+            }
+            default -> { }
+        }
+        top = slot;
+        return endTurn(player, advanced);
+    }
+
+    /**
+     * @param player seat that just played
+     * @param advanced true if the card already moved the turn on
+     * @return the player's seat if their hand is empty, otherwise -1 (after advancing the turn)
+     */
+    private int endTurn(int player, boolean advanced) {
+        if (handSizes[player] == 0) {
+            return player;
+        }
+        if (!advanced) {
+            advance(1);
+        }
+        return -1;
+    }
+
+    /** Moves the turn the given number of seats in the current direction. */
+    private void advance(int steps) {
+        current = ((current + steps * direction) % players + players) % players;
+    }
+
+    private void addCard(int player, int slot) {
+        counts[player * SLOTS + slot]++;
+        presence[player] |= 1L << slot;
+        handSizes[player]++;
+        points[player] += SLOT_POINTS[slot];
+    }
+
+    private void removeCard(int player, int slot) {
+        if (--counts[player * SLOTS + slot] == 0) {
+            presence[player] &= ~(1L << slot);
+        }
+        handSizes[player]--;
+        points[player] -= SLOT_POINTS[slot];
+    }
+}
@@ -0,0 +1,27 @@
+/**
+ * Decision-making interface for a player seat that is not driven by the GUI.
+ *
+ * Responsible for:
+ *  - Choosing which card (if any) to play from the current player's hand
+ *  - Choosing the new colour after playing a WILD or WILD_DRAW_TWO
+ *
+ * A strategy only reads the UnoModel; the caller (e.g. UnoSimulator) applies
+ * the chosen move. Strategies may keep scratch state, so a single instance
+ * should not be shared between games running on different threads.
+ */
+public interface UnoStrategy {
+
+    /**
+     * Chooses a card for the current player of the model.
+     * @param model the UnoModel in its current state
+     * @return a playable card held by the current player, or null to draw a card instead
+     */
+    UnoModel.Card chooseCard(UnoModel model);
+
+    /**
+     * Chooses the colour for a wild card the current player just played.
+     * @param model the UnoModel in its current state
+     * @return the new colour (cannot be null)
+     */
+    UnoModel.Colours chooseColour(UnoModel model);
+}
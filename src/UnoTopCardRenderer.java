@@ -0,0 +1,106 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+
+/**
+ * Renders the top (discard) card into its label, scaled to the top-card panel.
+ * <p>
+ * The card image is sized to the panel minus a fixed margin and taken from the
+ * shared {@link UnoImageCache}, which keeps one scaled image per (card, size).
+ * The renderer only re-renders when the top card changes or the panel is
+ * resized to a new size; repeated updates with the same card and size do
+ * nothing. While the panel is too small to hold a card (e.g. before the first
+ * layout, when the size minus the margin is zero or negative) nothing is
+ * scaled, and the card is drawn on the first resize that makes room for it.
+ * </p>
+ */
+public class UnoTopCardRenderer {
+    /** Horizontal space of the panel not used by the card. */
+    private static final int MARGIN_WIDTH = 180;
+
+    /** Vertical space of the panel not used by the card. */
+    private static final int MARGIN_HEIGHT = 250;
+
+    /** Panel whose size determines the card size. */
+    private final JPanel panel;
+
+    /** Label displaying the card image. */
+    private final JLabel label;
+
+    /** Source of scaled card images. */
+    private final UnoImageCache imageCache;
+
+    /** Card to display, or null before the first round. */
+    private UnoModel.Card card;
+
+    /** Card, width and height of the image currently shown in the label. */
+    private UnoModel.Card renderedCard;
+    private int renderedWidth;
+    private int renderedHeight;
+
+    /**
+     * Creates a renderer and starts listening for panel resizes.
+     * @param panel the top-card panel
+     * @param label the label inside the panel that shows the card
+     * @param imageCache cache of scaled card images
+     */
+    public UnoTopCardRenderer(JPanel panel, JLabel label, UnoImageCache imageCache) {
+        this(panel, label, imageCache, true);
+    }
+
+    /**
+     * Creates a renderer.
+     * @param panel the top-card panel
+     * @param label the label inside the panel that shows the card
+     * @param imageCache cache of scaled card images
+     * @param followResizes true to re-render on panel resizes (delivered on the EDT);
+     *                      false for panels that are not on screen, which only
+     *                      render on {@link #setCard(UnoModel.Card)}
+     */
+    public UnoTopCardRenderer(JPanel panel, JLabel label, UnoImageCache imageCache, boolean followResizes) {
+        this.panel = panel;
+        this.label = label;
+        this.imageCache = imageCache;
+        if (followResizes) {
+            panel.addComponentListener(new ComponentAdapter() {
+                @Override
+                public void componentResized(ComponentEvent e) {
+                    render();
+                }
+            });
+        }
+    }
+
+    /**
+     * Shows a new top card (re-rendering only if it differs from the current one).
+     * @param card the top card, recoloured if it is a wild with a chosen colour
+     */
+    public void setCard(UnoModel.Card card) {
+        this.card = card;
+        render();
+    }
+
+    /**
+     * Scales and shows the card if the card or the available size changed since
+     * the last render, and the size is large enough to hold a card.
+     */
+    private void render() {
+        if (card == null) {
+            return;
+        }
+        Dimension size = panel.getSize();
+        int width = size.width - MARGIN_WIDTH;
+        int height = size.height - MARGIN_HEIGHT;
+        if (width <= 0 || height <= 0) {
+            return;                                    // Wait for a resize that leaves room for the card
+        }
+        if (card == renderedCard && width == renderedWidth && height == renderedHeight) {
+            return;
+        }
+        label.setIcon(imageCache.get(card, width, height));
+        renderedCard = card;
+        renderedWidth = width;
+        renderedHeight = height;
+    }
+}
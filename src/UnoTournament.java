@@ -0,0 +1,131 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Parallel tournament runner for headless UNO matches.
+ * <p>
+ * A tournament splits a seeded batch of games into index ranges on a
+ * {@link ForkJoinPool}. Every leaf task plays its range on its own
+ * {@link UnoSimulator} (and therefore its own {@link UnoModel}s and random
+ * streams) into a private {@link UnoSimulator.Stats}; partial results are
+ * merged up the fork/join tree, so workers never share a lock or a counter.
+ * Because game {@code i} is always seeded with {@link UnoSimulator#gameSeed(long, long)},
+ * the results do not depend on the number of threads.
+ * </p>
+ */
+public class UnoTournament {
+    /** Games played sequentially by one leaf task before it stops splitting. */
+    private static final int LEAF_GAMES = 256;
+
+    /** Creates a fresh simulator (with fresh strategies) for each leaf task, which closes it. */
+    private final Supplier<UnoSimulator> simulators;
+
+    /** Number of seats per game. */
+    private final int playerCount;
+
+    /**
+     * Creates a tournament.
+     * @param playerCount number of seats of the simulators
+     * @param simulators factory of simulators; every call must return a new instance,
+     *                   which is closed once its leaf task is done
+     */
+    public UnoTournament(int playerCount, Supplier<UnoSimulator> simulators) {
+        this.playerCount = playerCount;
+        this.simulators = simulators;
+    }
+
+    /**
+     * Plays a seeded batch of games on a pool with the given parallelism.
+     * @param games number of games
+     * @param seed base seed of the batch
+     * @param threads worker threads
+     * @return merged statistics, with elapsed wall-clock time
+     */
+    public UnoSimulator.Stats run(long games, long seed, int threads) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            long start = System.nanoTime();
+            UnoSimulator.Stats stats = pool.invoke(new Range(seed, 0, games));
+            stats.setElapsedNanos(System.nanoTime() - start);
+            return stats;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Measures speedup of {@code threads} workers over a single worker on the same batch.
+     * @param games number of games in each run
+     * @param seed base seed of the batch
+     * @param threads worker threads for the parallel run
+     * @return scaling efficiency: (single-thread time / parallel time) / threads
+     */
+    public double scalingEfficiency(long games, long seed, int threads) {
+        UnoSimulator.Stats single = run(games, seed, 1);
+        UnoSimulator.Stats parallel = run(games, seed, threads);
+        double speedup = (double) single.getElapsedNanos() / parallel.getElapsedNanos();
+        return speedup / threads;
+    }
+
+    /**
+     * Fork/join task playing the game indices {@code [from, to)}.
+     */
+    private class Range extends RecursiveTask<UnoSimulator.Stats> {
+        private static final long serialVersionUID = 1L;
+
+        private final long seed;
+        private final long from;
+        private final long to;
+
+        Range(long seed, long from, long to) {
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected UnoSimulator.Stats compute() {
+            if (to - from <= LEAF_GAMES) {
+                UnoSimulator.Stats stats = new UnoSimulator.Stats(playerCount);
+                UnoSimulator simulator = simulators.get();
+                try {
+                    if (simulator.getPlayerCount() != playerCount) {
+                        throw new IllegalArgumentException("Simulator has " + simulator.getPlayerCount() + " seats, expected " + playerCount);
+                    }
+                    simulator.run(seed, from, to, stats);
+                } finally {
+                    simulator.close();
+                }
+                return stats;
+            }
+            long mid = (from + to) >>> 1;
+            Range left = new Range(seed, from, mid);
+            left.fork();
+            UnoSimulator.Stats right = new Range(seed, mid, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Runs an automatic tournament on all cores and prints results and scaling.
+     * Usage: {@code UnoTournament [games] [players] [seed] [threads]}
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 100_000;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        UnoTournament tournament = new UnoTournament(players, () -> UnoSimulator.automatic(players));
+        tournament.run(Math.max(1, games / 10), seed, threads);    // warm-up
+
+        UnoSimulator.Stats single = tournament.run(games, seed, 1);
+        UnoSimulator.Stats parallel = tournament.run(games, seed, threads);
+        double speedup = (double) single.getElapsedNanos() / parallel.getElapsedNanos();
+
+        System.out.println(parallel);
+        System.out.printf("1 thread: %.0f games/s, %d threads: %.0f games/s, speedup %.2fx, scaling efficiency %.0f%%%n",
+                single.getGamesPerSecond(), threads, parallel.getGamesPerSecond(), speedup, 100 * speedup / threads);
+    }
+}
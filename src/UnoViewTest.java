@@ -0,0 +1,385 @@
+/**
+ * JUnit Tests for the Swing views, run headless
+ *
+ * This test suite verifies:
+ *  - The hand panel keeps unchanged card buttons and reuses removed ones
+ *  - The custom-painted hand hit-tests clicks to cards, and ignores them while disabled
+ *  - The top card is only re-rendered for a new card or panel size, and waits for room to draw it
+ *  - Bursts of updates from the game thread reach the EDT in at most one batch per frame
+ *  - Latency histogram buckets and percentile estimates
+ *  - Dispatch of action commands and card buttons to the controller
+ *  - Offscreen snapshots of game states, rendered in parallel without a display
+ */
+
+import org.junit.*;
+import static org.junit.Assert.*;
+import java.awt.Component;
+import java.awt.Point;
+import java.awt.event.ActionEvent;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.SwingUtilities;
+
+public class UnoViewTest {
+
+  private static final UnoModel.Card RED_ONE = UnoModel.Card.of(UnoModel.Colours.RED, UnoModel.Values.ONE);
+  private static final UnoModel.Card BLUE_TWO = UnoModel.Card.of(UnoModel.Colours.BLUE, UnoModel.Values.TWO);
+  private static final UnoModel.Card GREEN_SKIP = UnoModel.Card.of(UnoModel.Colours.GREEN, UnoModel.Values.SKIP);
+  private static final UnoModel.Card WILD = UnoModel.Card.of(null, UnoModel.Values.WILD);
+
+  private UnoImageCache cache;
+
+  /** Sets up an image cache serving card faces from the atlas before every test. */
+  @Before
+  public void setUp() {
+    cache = new UnoImageCache(128);
+    cache.setAtlas(UnoCardAtlas.loadDefault());
+  }
+
+  /** @return the card buttons shown in the frame's hand panel, in order */
+  private static List<JButton> cardButtons(UnoFrame frame) {
+    List<JButton> buttons = new ArrayList<>();
+    for (Component component : frame.getHandPanel().getComponents()) {
+      if (component instanceof JButton button) {
+        buttons.add(button);
+      }
+    }
+    return buttons;
+  }
+
+  /** A play or a draw must only touch the changed button, and a removed button must be reused for the next card. */
+  @Test
+  public void testHandButtonsReused() {
+    UnoFrame frame = UnoFrame.offscreen(cache, List.of("Ann", "Bob"));
+    List<UnoModel.Card> hand = new ArrayList<>(List.of(RED_ONE, BLUE_TWO, GREEN_SKIP, RED_ONE));
+    frame.handPanelButtons(hand, null);
+    List<JButton> dealt = cardButtons(frame);
+    assertEquals(4, dealt.size());
+    assertEquals(8, frame.getHandPanel().getComponentCount());          // One spacer after each button
+    for (int i = 0; i < hand.size(); i++) {
+      assertSame(hand.get(i), UnoFrame.cardOf(dealt.get(i)));
+    }
+
+    hand.remove(1);                                                     // Play the blue two
+    frame.handPanelButtons(hand, null);
+    List<JButton> played = cardButtons(frame);
+    assertEquals(List.of(dealt.get(0), dealt.get(2), dealt.get(3)), played);
+    assertEquals(6, frame.getHandPanel().getComponentCount());
+
+    hand.add(WILD);                                                     // Draw: the spare button comes back
+    frame.handPanelButtons(hand, null);
+    List<JButton> drawn = cardButtons(frame);
+    assertEquals(played, drawn.subList(0, 3));
+    assertSame(dealt.get(1), drawn.get(3));
+    assertSame(WILD, UnoFrame.cardOf(drawn.get(3)));
+    assertSame(cache.get(WILD, UnoImageCache.CARD_WIDTH, UnoImageCache.CARD_HEIGHT), drawn.get(3).getIcon());
+
+    frame.handPanelButtons(new ArrayList<>(hand), null);                // Same hand: nothing changes
+    assertEquals(drawn, cardButtons(frame));
+    assertEquals(8, frame.getHandPanel().getComponentCount());
+  }
+
+  /** Clicks must map to the card under them, and miss in the gaps, outside the cards and while the hand is disabled. */
+  @Test
+  public void testHandComponentHitTesting() {
+    UnoModel.Player player = new UnoModel.Player("Ann");
+    for (int i = 0; i < 40; i++) {
+      player.addCard(UnoModel.Card.ofIndex(i));
+    }
+    UnoHandComponent hand = new UnoHandComponent(cache);
+    hand.setBorder(BorderFactory.createEmptyBorder(5, 7, 5, 7));
+    hand.setHand(player);
+    int stride = UnoImageCache.CARD_WIDTH + 10;
+    int left = 7;
+    int top = 5;
+
+    assertEquals(0, hand.indexAt(new Point(left, top)));                                  // First card, corner
+    assertEquals(0, hand.indexAt(new Point(left + UnoImageCache.CARD_WIDTH - 1, top + UnoImageCache.CARD_HEIGHT - 1)));
+    assertEquals(20, hand.indexAt(new Point(left + 20 * stride + 75, top + 100)));        // Middle card
+    assertEquals(39, hand.indexAt(new Point(left + 39 * stride + UnoImageCache.CARD_WIDTH - 1, top)));
+    assertSame(player.getPersonalDeck().get(20), hand.cardAt(20));
+
+    assertEquals(-1, hand.indexAt(new Point(left + UnoImageCache.CARD_WIDTH, top)));      // Gap after a card
+    assertEquals(-1, hand.indexAt(new Point(left + 20 * stride - 1, top + 100)));         // Gap before a card
+    assertEquals(-1, hand.indexAt(new Point(left + 40 * stride, top)));                   // Past the last card
+    assertEquals(-1, hand.indexAt(new Point(left - 1, top)));                             // In the border
+    assertEquals(-1, hand.indexAt(new Point(left, top - 1)));
+    assertEquals(-1, hand.indexAt(new Point(left, top + UnoImageCache.CARD_HEIGHT)));     // Below the cards
+    assertEquals(-1, hand.indexAt(new Point(-100, -100)));
+
+    List<ActionEvent> actions = new ArrayList<>();
+    hand.setActionListener(actions::add);
+    Point middle = new Point(left + 20 * stride + 75, top + 100);
+    hand.setEnabled(false);
+    click(hand, middle);
+    assertTrue(actions.isEmpty());
+    assertNull(hand.getSelectedCard());
+
+    hand.setEnabled(true);
+    click(hand, new Point(left + UnoImageCache.CARD_WIDTH + 5, top));                     // A gap is not a card
+    assertTrue(actions.isEmpty());
+    click(hand, middle);
+    assertEquals(1, actions.size());
+    assertEquals(UnoController.Command.PLAY_CARD.getActionCommand(), actions.get(0).getActionCommand());
+    assertSame(hand, actions.get(0).getSource());
+    assertSame(hand.cardAt(20), hand.getSelectedCard());
+    assertSame(hand.cardAt(20), UnoFrame.cardOf(hand));
+  }
+
+  /** Rendering must be skipped for an unchanged card and size, and for panels too small to hold a card. */
+  @Test
+  public void testTopCardRenderedOnlyOnChange() throws Exception {
+    JPanel panel = new JPanel();
+    JLabel label = new JLabel();
+    UnoTopCardRenderer renderer = new UnoTopCardRenderer(panel, label, cache);
+
+    panel.setSize(100, 100);                                // Before layout, the card size is negative
+    renderer.setCard(RED_ONE);
+    resize(panel, 0, 0);
+    assertNull(label.getIcon());
+    assertEquals(0, lookups());
+
+    resize(panel, 300, 400);                                // Room at last: drawn on the resize
+    assertEquals(120, label.getIcon().getIconWidth());
+    assertEquals(150, label.getIcon().getIconHeight());
+    assertEquals(1, lookups());
+    renderer.setCard(RED_ONE);
+    assertEquals(1, lookups());
+
+    renderer.setCard(BLUE_TWO);
+    assertEquals(2, lookups());
+    Object blue = label.getIcon();
+    resize(panel, 100, 100);                                // Too small: the last image stays
+    assertSame(blue, label.getIcon());
+    resize(panel, 300, 400);                                // Back to the rendered size: nothing to do
+    renderer.setCard(BLUE_TWO);
+    assertSame(blue, label.getIcon());
+    assertEquals(2, lookups());
+
+    resize(panel, 320, 400);
+    assertEquals(140, label.getIcon().getIconWidth());
+    assertEquals(3, lookups());
+  }
+
+  /** Many rapid updates must be coalesced into at most one flush per frame, keeping the posted UI actions in order. */
+  @Test
+  public void testPublisherCoalescesBursts() throws Exception {
+    ReentrantLock lock = new ReentrantLock();
+    List<Long> flushes = new ArrayList<>();
+    List<String> messages = new ArrayList<>();
+    UnoView view = new UnoView() {
+      public void update(UnoModel model) {
+        assertTrue(lock.isHeldByCurrentThread());
+        flushes.add(System.nanoTime());
+      }
+      public void updateHandPanel(UnoModel model, UnoController controller) { }
+      public void updateStatusMessage(String msg) { messages.add(msg); }
+      public void updateWinner(String winner, int score) { }
+    };
+    UnoEdtPublisher publisher = new UnoEdtPublisher(view, lock);
+    UnoModel model = new UnoModel();
+
+    int posts = 0;
+    long start = System.nanoTime();
+    for (int burst = 0; burst < 100; burst++) {
+      for (int i = 0; i < 1000; i++) {
+        publisher.update(model);
+        publisher.updateStatusMessage(Integer.toString(posts++));
+      }
+      Thread.sleep(1);
+    }
+    long deadline = System.nanoTime() + 5_000_000_000L;
+    do {
+      Thread.sleep(UnoEdtPublisher.FRAME_MILLIS);
+      SwingUtilities.invokeAndWait(() -> { });
+    } while (messages.size() < posts && System.nanoTime() < deadline);
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+    assertEquals(posts, messages.size());
+    for (int i = 0; i < posts; i++) {
+      assertEquals(Integer.toString(i), messages.get(i));
+    }
+    assertTrue(flushes.size() + " flushes in " + elapsedMillis + " ms",
+        flushes.size() >= 1 && flushes.size() <= elapsedMillis / UnoEdtPublisher.FRAME_MILLIS + 1);
+    for (int i = 1; i < flushes.size(); i++) {
+      long gapMillis = (flushes.get(i) - flushes.get(i - 1)) / 1_000_000;
+      assertTrue("Flushes " + gapMillis + " ms apart", gapMillis >= UnoEdtPublisher.FRAME_MILLIS - 1);
+    }
+  }
+
+  /** Every bucket's lower bound must map back to that bucket, and the value just below it to the previous one. */
+  @Test
+  public void testHistogramBucketBounds() {
+    for (int bucket = 0; bucket < UnoLatencyMonitor.Histogram.BUCKETS; bucket++) {
+      long lower = UnoLatencyMonitor.Histogram.lowerBound(bucket);
+      assertEquals("lowerBound(" + bucket + ") = " + lower, bucket, UnoLatencyMonitor.Histogram.bucket(lower));
+      if (bucket > 0) {
+        assertEquals(bucket - 1, UnoLatencyMonitor.Histogram.bucket(lower - 1));
+        assertTrue(lower > UnoLatencyMonitor.Histogram.lowerBound(bucket - 1));
+      }
+    }
+    for (long value = 0; value < 8; value++) {                                          // Exact below 8
+      assertEquals(value, UnoLatencyMonitor.Histogram.bucket(value));
+    }
+    assertEquals(8, UnoLatencyMonitor.Histogram.bucket(8));                             // 8-15 one bucket each
+    assertEquals(15, UnoLatencyMonitor.Histogram.bucket(15));
+    assertEquals(16, UnoLatencyMonitor.Histogram.bucket(16));                           // 16-17 share a bucket
+    assertEquals(16, UnoLatencyMonitor.Histogram.bucket(17));
+    assertEquals(17, UnoLatencyMonitor.Histogram.bucket(18));
+    assertEquals(UnoLatencyMonitor.Histogram.BUCKETS - 1, UnoLatencyMonitor.Histogram.bucket(Long.MAX_VALUE));
+    assertEquals(Long.MAX_VALUE, UnoLatencyMonitor.Histogram.lowerBound(UnoLatencyMonitor.Histogram.BUCKETS));
+  }
+
+  /** Percentiles must be the top of the bucket holding the rank, capped at the maximum, and never below the exact value. */
+  @Test
+  public void testHistogramPercentiles() {
+    UnoLatencyMonitor.Histogram histogram = new UnoLatencyMonitor.Histogram();
+    assertEquals(0, histogram.percentile(0.5));
+    assertEquals(0, histogram.mean());
+
+    for (long value = 1; value <= 100; value++) {
+      histogram.record(value);
+    }
+    assertEquals(50, histogram.mean());
+    assertEquals(1, histogram.percentile(0));
+    assertEquals(51, histogram.percentile(0.5));                                        // 50 lies in [48, 52)
+    assertEquals(95, histogram.percentile(0.9));                                        // 90 lies in [88, 96)
+    assertEquals(100, histogram.percentile(1));                                         // Capped at the maximum
+
+    histogram.clear();
+    histogram.record(-5);                                                               // Counts as zero
+    histogram.record(64);                                                               // A bucket's lower bound
+    histogram.record(64);
+    assertEquals(0, histogram.percentile(1.0 / 3));
+    assertEquals(64, histogram.percentile(0.5));
+    assertEquals(64, histogram.max);
+
+    // Against exact percentiles: at most one bucket (an eighth of the value) above them
+    histogram.clear();
+    Random random = new Random(7);
+    long[] samples = new long[10_000];
+    for (int i = 0; i < samples.length; i++) {
+      samples[i] = (long) Math.exp(random.nextDouble() * 25);
+      histogram.record(samples[i]);
+    }
+    Arrays.sort(samples);
+    for (double fraction : new double[] {0.1, 0.5, 0.9, 0.99, 0.999}) {
+      long exact = samples[(int) Math.ceil(fraction * samples.length) - 1];
+      long estimate = histogram.percentile(fraction);
+      assertTrue(fraction + ": " + estimate + " vs " + exact, estimate >= exact && estimate <= exact + exact / 8);
+    }
+  }
+
+  /** Commands must map both ways; unknown commands and buttons of cards that left the hand must do nothing. */
+  @Test
+  public void testCommandDispatch() {
+    for (UnoController.Command command : UnoController.Command.values()) {
+      assertSame(command, UnoController.Command.of(new String(command.getActionCommand())));
+    }
+    for (String unknown : new String[] {null, "", "play card", "Play Card ", "PLAY_CARD"}) {
+      assertNull(UnoController.Command.of(unknown));
+    }
+
+    UnoModel model = new UnoModel(5L);
+    model.addPlayer("Ann");
+    model.addPlayer("Bob");
+    model.newRound();
+    model.setTopCard(RED_ONE);
+    UnoModel.Player ann = model.getCurrPlayer();
+    ann.clearHand();
+    ann.addCard(RED_ONE);
+    ann.addCard(BLUE_TWO);
+    ann.addCard(GREEN_SKIP);
+    List<String> calls = new ArrayList<>();
+    UnoView view = new UnoView() {
+      public void update(UnoModel m) { calls.add("update"); }
+      public void updateHandPanel(UnoModel m, UnoController c) { calls.add("hand"); }
+      public void updateStatusMessage(String msg) { calls.add(msg); }
+      public void updateWinner(String winner, int score) { calls.add(winner); }
+    };
+    UnoFrame frame = UnoFrame.offscreen(cache, List.of("Ann", "Bob"));
+    UnoController controller = new UnoController(model, view, frame);
+    frame.handPanelButtons(ann.getPersonalDeck(), controller);
+    List<JButton> buttons = cardButtons(frame);
+    assertNull(UnoFrame.cardOf(new JButton("Draw Card")));
+    assertNull(UnoFrame.cardOf("Play Card"));
+    assertSame(BLUE_TWO, UnoFrame.cardOf(buttons.get(1)));
+
+    controller.actionPerformed(new ActionEvent(buttons.get(0), ActionEvent.ACTION_PERFORMED, "Shuffle"));
+    controller.actionPerformed(new ActionEvent(buttons.get(0), ActionEvent.ACTION_PERFORMED, null));
+    controller.actionPerformed(new ActionEvent(new JButton(), ActionEvent.ACTION_PERFORMED,
+        UnoController.Command.PLAY_CARD.getActionCommand()));                           // No card behind it
+    ann.removeCard(RED_ONE);                                                            // The red one's button is now stale
+    controller.actionPerformed(new ActionEvent(buttons.get(0), ActionEvent.ACTION_PERFORMED,
+        UnoController.Command.PLAY_CARD.getActionCommand()));
+    assertEquals(List.of(BLUE_TWO, GREEN_SKIP), ann.getPersonalDeck());
+    assertSame(RED_ONE, model.getTopCard());
+    assertTrue(calls.isEmpty());
+
+    ann.addCard(RED_ONE);                                                               // Held again: the same button plays it
+    controller.actionPerformed(new ActionEvent(buttons.get(0), ActionEvent.ACTION_PERFORMED,
+        UnoController.Command.PLAY_CARD.getActionCommand()));
+    assertEquals(List.of(BLUE_TWO, GREEN_SKIP), ann.getPersonalDeck());
+    assertFalse(calls.isEmpty());
+  }
+
+  /** Snapshots rendered on several threads must have the requested size, show the game and match sequential renders. */
+  @Test
+  public void testSnapshotsRenderedInParallel() {
+    List<UnoModel> models = new ArrayList<>();
+    UnoSimulator simulator = UnoSimulator.automatic(3);
+    for (int i = 0; i < 6; i++) {
+      UnoModel model = new UnoModel(100L + i);
+      model.addPlayer("Ann");
+      model.addPlayer("Bob");
+      model.addPlayer("Cy");
+      model.newRound();
+      for (int turn = 0; turn < 3 * i && simulator.playTurn(model) == null; turn++) {
+        // play on
+      }
+      models.add(model);
+    }
+    UnoSnapshotRenderer renderer = new UnoSnapshotRenderer(cache, 800, 600);
+
+    int[][] pixels = new int[models.size()][];
+    renderer.renderAll(models, 3, (image, i) -> {
+      assertEquals(800, image.getWidth());
+      assertEquals(600, image.getHeight());
+      pixels[i] = image.getRGB(0, 0, 800, 600, null, 0, 800);                          // The canvas reuses the image
+    });
+
+    for (int i = 0; i < models.size(); i++) {
+      assertNotNull("Snapshot " + i + " was not rendered", pixels[i]);
+      Set<Integer> colours = new HashSet<>();
+      for (int pixel : pixels[i]) {
+        colours.add(pixel);
+      }
+      assertTrue("Snapshot " + i + " has only " + colours.size() + " colours", colours.size() > 100);
+      BufferedImage sequential = renderer.render(models.get(i), "");
+      assertArrayEquals(sequential.getRGB(0, 0, 800, 600, null, 0, 800), pixels[i]);
+    }
+  }
+
+  /** @return number of image cache lookups so far */
+  private long lookups() {
+    return cache.getHits() + cache.getMisses();
+  }
+
+  /** Resizes a component and waits until its resize listeners have run on the EDT. */
+  private static void resize(Component component, int width, int height) throws Exception {
+    component.setSize(width, height);
+    SwingUtilities.invokeAndWait(() -> { });
+  }
+
+  /** Delivers a mouse click at the given point to a component. */
+  private static void click(Component component, Point point) {
+    component.dispatchEvent(new MouseEvent(component, MouseEvent.MOUSE_CLICKED, System.currentTimeMillis(), 0,
+        point.x, point.y, 1, false, MouseEvent.BUTTON1));
+  }
+}